@@ -23,13 +23,15 @@ import net.md_5.bungee.BungeeCord;
 
 import java.net.InetAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * External Host Class
  */
 public class ExternalHost extends Host implements ClientHandler {
     private HashMap<Integer, SubDataClient> subdata = new HashMap<Integer, SubDataClient>();
-    private HashMap<String, SubServer> servers = new HashMap<String, SubServer>();
+    private final ConcurrentHashMap<String, SubServer> servers = new ConcurrentHashMap<String, SubServer>();
+    private volatile Map<String, SubServer> sorted = null;
     private String name;
     boolean available;
     private boolean enabled;
@@ -86,6 +88,7 @@ public class ExternalHost extends Host implements ClientHandler {
         } else {
             subdata.remove(channel);
         }
+        invalidateCache();
     }
 
     @Override
@@ -155,18 +158,38 @@ public class ExternalHost extends Host implements ClientHandler {
 
     @Override
     public Map<String, ? extends SubServer> getSubServers() {
-        return new TreeMap<String, SubServer>(servers);
+        Map<String, SubServer> sorted = this.sorted;
+        if (sorted == null) synchronized (servers) {
+            if ((sorted = this.sorted) == null) this.sorted = sorted = Collections.unmodifiableMap(new TreeMap<String, SubServer>(servers));
+        }
+        return sorted;
     }
 
     @Override
     public SubServer getSubServer(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        return getSubServers().get(name.toLowerCase());
+        return servers.get(name.toLowerCase());
+    }
+
+    private void register(SubServer server) {
+        synchronized (servers) {
+            servers.put(server.getName().toLowerCase(), server);
+            sorted = null;
+        }
+        plugin.registry.add(server);
+    }
+
+    private void unregister(SubServer server) {
+        synchronized (servers) {
+            servers.remove(server.getName().toLowerCase(), server);
+            sorted = null;
+        }
+        plugin.registry.remove(server);
     }
 
     @Override
     public SubServer addSubServer(UUID player, String name, boolean enabled, int port, String motd, boolean log, String directory, String executable, String stopcmd, boolean hidden, boolean restricted) throws InvalidServerException {
-        if (plugin.api.getServers().keySet().contains(name.toLowerCase())) throw new InvalidServerException("A Server already exists with this name!");
+        if (plugin.registry.contains(name)) throw new InvalidServerException("A Server already exists with this name!");
         ExternalSubServer server = ExternalSubServer.construct(this, name, enabled, port, motd, log, directory, executable, stopcmd, hidden, restricted);
         SubAddServerEvent event = new SubAddServerEvent(player, this, server);
         plugin.getPluginManager().callEvent(event);
@@ -174,7 +197,7 @@ public class ExternalHost extends Host implements ClientHandler {
             queue(new PacketExAddServer(name, enabled, port, log, directory, executable, stopcmd, (server.isRunning())?((ExternalSubLogger) server.getLogger()).getExternalAddress():null, data -> {
                 if (data.contains(0x0002)) server.started(data.getUUID(0x0002));
             }));
-            servers.put(name.toLowerCase(), server);
+            register(server);
             return server;
         } else {
             return null;
@@ -193,10 +216,10 @@ public class ExternalHost extends Host implements ClientHandler {
                 server.stop();
                 server.waitFor();
             }
-            servers.remove(name.toLowerCase());
+            unregister(server);
             queue(new PacketExRemoveServer(name.toLowerCase(), data -> {
                 if (data.getInt(0x0001) != 0 && data.getInt(0x0001) != 1) {
-                    servers.put(name.toLowerCase(), server);
+                    register(server);
                 }
             }));
             return true;
@@ -233,7 +256,7 @@ public class ExternalHost extends Host implements ClientHandler {
             Logger.get("SubServers").info("Moving Files...");
             queue(new PacketExDeleteServer(server, info, true, data -> {
                 if (data.getInt(0x0001) == 0 || data.getInt(0x0001) == 1) {
-                    servers.remove(server.toLowerCase());
+                    unregister(s);
                     Logger.get("SubServers").info("Deleted SubServer: " + server);
                 } else {
                     Logger.get("SubServers").info("Couldn't remove " + server + " from memory. See " + getName() + " console for more details");
@@ -273,7 +296,7 @@ public class ExternalHost extends Host implements ClientHandler {
             Logger.get("SubServers").info("Removing Files...");
             queue(new PacketExDeleteServer(server, info, false, data -> {
                 if (data.getInt(0x0001) == 0 || data.getInt(0x0001) == 1) {
-                    servers.remove(server.toLowerCase());
+                    unregister(s);
                     Logger.get("SubServers").info("Deleted SubServer: " + server);
                 } else {
                     Logger.get("SubServers").info("Couldn't remove " + server + " from memory. See " + getName() + " console for more details");
@@ -292,8 +315,8 @@ public class ExternalHost extends Host implements ClientHandler {
     }
 
     @Override
-    public ObjectMap<String> forSubData() {
-        ObjectMap<String> hinfo = super.forSubData();
+    protected ObjectMap<String> serialize() {
+        ObjectMap<String> hinfo = super.serialize();
         ObjectMap<Integer> subdata = new ObjectMap<Integer>();
         for (int channel : this.subdata.keySet()) subdata.set(channel, (this.subdata.get(channel) == null)?null:this.subdata.get(channel).getID());
         hinfo.set("subdata", subdata);
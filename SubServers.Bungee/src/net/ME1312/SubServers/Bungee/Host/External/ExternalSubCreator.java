@@ -101,6 +101,7 @@ public class ExternalSubCreator extends SubCreator {
             }
             String prefix = name + File.separator + "Creator";
             ExternalSubLogger logger = new ExternalSubLogger(this, prefix, log, null);
+            logger.getThrottle().setPolicy(0, 0, 0, false);
             thread.put(name.toLowerCase(), new NamedContainer<>(port, logger));
 
             final int fport = port;
@@ -140,6 +141,7 @@ public class ExternalSubCreator extends SubCreator {
             String prefix = name + File.separator + "Updater";
             Util.isException(() -> Util.reflect(SubServerImpl.class.getDeclaredField("updating"), server, true));
             ExternalSubLogger logger = new ExternalSubLogger(this, prefix, log, null);
+            logger.getThrottle().setPolicy(0, 0, 0, false);
             thread.put(name.toLowerCase(), new NamedContainer<>(server.getAddress().getPort(), logger));
 
             final SubCreateEvent event = new SubCreateEvent(player, server, version);
@@ -169,7 +171,7 @@ public class ExternalSubCreator extends SubCreator {
                 SubServer subserver = update;
                 if (update == null || update.getTemplate() != template || template.getBuildOptions().getBoolean("Update-Settings", false)) {
                     if (host.plugin.exServers.keySet().contains(name.toLowerCase()))
-                        host.plugin.exServers.remove(name.toLowerCase());
+                        host.plugin.registry.remove(host.plugin.exServers.remove(name.toLowerCase()));
 
                     ObjectMap<String> server = new ObjectMap<String>();
                     ObjectMap<String> config = new ObjectMap<String>((Map<String, ?>) data.getObject(0x0002));
@@ -1,26 +1,27 @@
 package net.ME1312.SubServers.Bungee.Host.External;
 
+import net.ME1312.SubServers.Bungee.Host.SubLogBuffer;
 import net.ME1312.SubServers.Bungee.Host.SubLogFilter;
 import net.ME1312.SubServers.Bungee.Host.SubLogger;
 import net.ME1312.Galaxi.Library.Container.Container;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.Logger;
+import net.ME1312.SubServers.Bungee.Library.LogClassifier;
+import net.ME1312.SubServers.Bungee.Library.LogSink;
+import net.ME1312.SubServers.Bungee.Library.LogThrottle;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketInExLogMessage;
 import net.ME1312.SubServers.Bungee.SubAPI;
 import net.md_5.bungee.api.ProxyServer;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * External Process Logger Class
@@ -32,7 +33,10 @@ public class ExternalSubLogger extends SubLogger {
     Container<Boolean> log;
     private List<SubLogFilter> filters = new CopyOnWriteArrayList<>();
     File file;
-    private PrintWriter writer = null;
+    private final SubLogBuffer scrollback = new SubLogBuffer();
+    private final LogThrottle throttle = new LogThrottle();
+    private LogSink writer = null;
+    private long lost = 0;
     private boolean started = false;
 
     /**
@@ -52,14 +56,13 @@ public class ExternalSubLogger extends SubLogger {
 
     @Override
     public void start() {
-        id = PacketInExLogMessage.register(this);
+        id = PacketInExLogMessage.register(this::log);
         started = true;
         if (file != null && writer == null) {
             try {
-                this.writer = new PrintWriter(file, "UTF-8");
+                this.writer = LogSink.open(file, SubAPI.getInstance().getInternals().config.get().getMap("Settings").getMap("Log-Rotation", new ObjectMap<String>()));
                 this.writer.println("---------- LOG START \u2014 " + name + " ----------");
-                this.writer.flush();
-            } catch (UnsupportedEncodingException | FileNotFoundException e) {
+            } catch (IOException e) {
                 e.printStackTrace();
             }
         }
@@ -75,53 +78,52 @@ public class ExternalSubLogger extends SubLogger {
     @SuppressWarnings("deprecation")
     private void log(String line) {
         if (started) {
-            String msg = line;
+            LogClassifier classified = LogClassifier.classify(line);
+            String msg = classified.getMessage();
             Level level;
 
-            // REGEX Formatting
-            String type = "";
-            Matcher matcher = Pattern.compile("^((?:\\s*\\[?([0-9]{2}:[0-9]{2}:[0-9]{2})]?)?[\\s\\/\\\\\\|]*(?:\\[|\\[.*\\/)?(MESSAGE|INFO|WARNING|WARN|ERROR|ERR|SEVERE)\\]?:?(?:\\s*>)?\\s*)").matcher(msg.replaceAll("\u001B\\[[;\\d]*m", ""));
-            while (matcher.find()) {
-                type = matcher.group(3).toUpperCase();
-            }
-
-            msg = msg.substring(msg.length() - msg.replaceAll("^((?:\\s*\\[?([0-9]{2}:[0-9]{2}:[0-9]{2})]?)?[\\s\\/\\\\\\|]*(?:\\[|\\[.*\\/)?(MESSAGE|INFO|WARNING|WARN|ERROR|ERR|SEVERE)\\]?:?(?:\\s*>)?\\s*)", "").length());
-
             // Determine LOG LEVEL
-            switch (type) {
-                case "WARNING":
-                case "WARN":
+            switch (classified.getSeverity()) {
+                case WARNING:
                     level = Level.WARNING;
                     break;
-                case "SEVERE":
-                case "ERROR":
-                case "ERR":
+                case ERROR:
+                case SEVERE:
                     level = Level.SEVERE;
                     break;
                 default:
                     level = Level.INFO;
             }
 
-            // Filter Message
-            boolean allow = (SubAPI.getInstance().getInternals().sudo == getHandler() && SubAPI.getInstance().getInternals().canSudo) || (log.get() && (SubAPI.getInstance().getInternals().sudo == null || !SubAPI.getInstance().getInternals().canSudo));
-            List<SubLogFilter> filters = new ArrayList<SubLogFilter>();
-            filters.addAll(this.filters);
-            for (SubLogFilter filter : filters)
-                try {
-                    allow = (filter.log(level, msg) && allow);
-                } catch (Throwable e) {
-                    new InvocationTargetException(e, "Exception while running SubLogger Event").printStackTrace();
-                }
+            // Throttle Message (which only keeps it off of the CONSOLE and SCROLLBACK)
+            boolean allow = throttle.allow(msg);
+            for (String notice; (notice = throttle.poll()) != null;) log(Level.WARNING, notice, null, true);
+            log(level, msg, line, allow);
+        }
+    }
+
+    private void log(Level level, String msg, String line, boolean display) {
+        // Filter Message
+        boolean allow = (SubAPI.getInstance().getInternals().sudo == getHandler() && SubAPI.getInstance().getInternals().canSudo) || (log.get() && (SubAPI.getInstance().getInternals().sudo == null || !SubAPI.getInstance().getInternals().canSudo));
+        List<SubLogFilter> filters = new ArrayList<SubLogFilter>();
+        filters.addAll(this.filters);
+        for (SubLogFilter filter : filters)
+            try {
+                allow = (filter.log(level, msg) && allow);
+            } catch (Throwable e) {
+                new InvocationTargetException(e, "Exception while running SubLogger Event").printStackTrace();
+            }
 
+        if (display) {
             // Log to CONSOLE
             if (allow) Logger.get(name).log(level, msg);
 
-            // Log to FILE
-            if (writer != null) {
-                writer.println(line);
-                writer.flush();
-            }
+            // Log to SCROLLBACK
+            scrollback.add(level, msg);
         }
+
+        // Log to FILE
+        if (writer != null && line != null) writer.println(line);
     }
 
     /**
@@ -148,6 +150,8 @@ public class ExternalSubLogger extends SubLogger {
     @Override
     public void stop() {
         if (started) {
+            throttle.reset();
+            for (String notice; (notice = throttle.poll()) != null;) log(Level.WARNING, notice, null, true);
             PacketInExLogMessage.unregister(id);
             id = null;
             started = false;
@@ -159,13 +163,14 @@ public class ExternalSubLogger extends SubLogger {
                 new InvocationTargetException(e, "Exception while running SubLogger Event").printStackTrace();
             }
             if (writer != null) {
-                PrintWriter writer = this.writer;
+                LogSink writer = this.writer;
                 this.writer = null;
                 int l = (int) Math.floor((("---------- LOG START \u2014 " + name + " ----------").length() - 9) / 2);
                 String s = "";
                 while (s.length() < l) s += '-';
                 writer.println(s + " LOG END " + s);
                 writer.close();
+                lost += writer.getLostLines();
             }
         }
     }
@@ -184,4 +189,20 @@ public class ExternalSubLogger extends SubLogger {
     public boolean isLogging() {
         return log.get();
     }
+
+    @Override
+    public SubLogBuffer getScrollback() {
+        return scrollback;
+    }
+
+    @Override
+    public LogThrottle getThrottle() {
+        return throttle;
+    }
+
+    @Override
+    public long getLostLines() {
+        LogSink writer = this.writer;
+        return lost + ((writer == null)?0:writer.getLostLines());
+    }
 }
@@ -277,7 +277,8 @@ public class ExternalSubServer extends SubServerImpl {
                                 break;
                             case "group":
                                 if (value.isList()) {
-                                    Util.reflect(ServerImpl.class.getDeclaredField("groups"), this, value.asStringList());
+                                    for (String group : new ArrayList<String>(getGroups())) removeGroup(group);
+                                    for (String group : value.asStringList()) addGroup(group);
                                     if (perma && this.host.plugin.servers.get().getMap("Servers").getKeys().contains(getName())) {
                                         this.host.plugin.servers.get().getMap("Servers").getMap(getName()).set("Group", value.asStringList());
                                         this.host.plugin.servers.save();
@@ -481,6 +482,7 @@ public class ExternalSubServer extends SubServerImpl {
                 }
             }
             if (!isRunning() && forward == null && state) start(player);
+            if (c > 0) invalidateCache();
             return c;
         } else return -1;
     } private <V> void waitFor(ReturnRunnable<V> method, V value) throws InterruptedException {
@@ -524,6 +526,7 @@ public class ExternalSubServer extends SubServerImpl {
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("enabled", value), false));
         if (enabled != value) host.queue(new PacketExEditServer(this, PacketExEditServer.UpdateType.SET_ENABLED, (Boolean) value));
         enabled = value;
+        invalidateCache();
     }
 
     @Override
@@ -537,6 +540,7 @@ public class ExternalSubServer extends SubServerImpl {
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("log", value), false));
         if (log.get() != value) host.queue(new PacketExEditServer(this, PacketExEditServer.UpdateType.SET_LOGGING, (Boolean) value));
         log.set(value);
+        invalidateCache();
     }
 
     @Override
@@ -570,6 +574,7 @@ public class ExternalSubServer extends SubServerImpl {
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("stop-cmd", value), false));
         if (!stopcmd.equals(value)) host.queue(new PacketExEditServer(this, PacketExEditServer.UpdateType.SET_STOP_COMMAND, value));
         stopcmd = value;
+        invalidateCache();
     }
 
     @Override
@@ -582,5 +587,6 @@ public class ExternalSubServer extends SubServerImpl {
         if (Util.isNull(action)) throw new NullPointerException();
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("stop-action", action), false));
         stopaction = action;
+        invalidateCache();
     }
 }
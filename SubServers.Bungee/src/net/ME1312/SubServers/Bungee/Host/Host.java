@@ -5,6 +5,7 @@ import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Map.ObjectMapValue;
 import net.ME1312.SubServers.Bungee.Library.Exception.InvalidHostException;
 import net.ME1312.SubServers.Bungee.Library.Exception.InvalidServerException;
+import net.ME1312.SubServers.Bungee.Library.SubDataCache;
 import net.ME1312.Galaxi.Library.ExtraDataHandler;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubServers.Bungee.SubAPI;
@@ -21,6 +22,7 @@ public abstract class Host implements ExtraDataHandler {
     private ObjectMap<String> extra = new ObjectMap<String>();
     private final String signature;
     private String nick = null;
+    private final SubDataCache cache = new SubDataCache();
 
     /**
      * This constructor is required to launch your host from the drivers list. Do not add or remove any arguments.
@@ -107,6 +109,7 @@ public abstract class Host implements ExtraDataHandler {
         } else {
             this.nick = value;
         }
+        invalidateCache();
     }
 
     /**
@@ -493,6 +496,7 @@ public abstract class Host implements ExtraDataHandler {
     public void addExtra(String handle, Object value) {
         if (Util.isNull(handle, value)) throw new NullPointerException();
         extra.set(handle, value);
+        invalidateCache();
     }
 
     @Override
@@ -516,9 +520,53 @@ public abstract class Host implements ExtraDataHandler {
     public void removeExtra(String handle) {
         if (Util.isNull(handle)) throw new NullPointerException();
         extra.remove(handle);
+        invalidateCache();
     }
 
+    /**
+     * Mark the cached SubData serialization of this Host as outdated
+     */
+    public void invalidateCache() {
+        cache.invalidate();
+    }
+
+    /**
+     * Get the revision of the SubData serialization of this Host
+     *
+     * @return SubData Revision
+     */
+    public long getRevision() {
+        forSubData();
+        return cache.getRevision();
+    }
+
+    /**
+     * Get the SubData serialization of this Host (shared between calls, do not modify)
+     *
+     * @return SubData Serialization
+     */
     public ObjectMap<String> forSubData() {
+        List<Object> state = new ArrayList<Object>();
+        state.add(isAvailable());
+        state.add(isEnabled());
+        for (SubServer server : getSubServers().values()) {
+            state.add((server instanceof ServerImpl)?((ServerImpl) server).getRevision():new Object());
+        }
+        for (SubCreator.ServerTemplate template : getCreator().getTemplates().values()) {
+            state.add(template);
+            state.add(template.isEnabled());
+            state.add(template.getDisplayName());
+            state.add(template.getIcon());
+        }
+        return cache.get(state, this::serialize);
+    }
+
+    /**
+     * Serialize this Host for SubData
+     *
+     * @return SubData Serialization
+     */
+    protected ObjectMap<String> serialize() {
         ObjectMap<String> hinfo = new ObjectMap<String>();
         hinfo.set("type", "Host");
         hinfo.set("name", getName());
@@ -19,13 +19,15 @@ import java.io.File;
 import java.io.FileWriter;
 import java.net.InetAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Internal Host Class
  */
 public class InternalHost extends Host {
     public static final boolean DRM_ALLOW = System.getProperty("RM.subservers", "true").equalsIgnoreCase("true");
-    private HashMap<String, SubServer> servers = new HashMap<String, SubServer>();
+    private final ConcurrentHashMap<String, SubServer> servers = new ConcurrentHashMap<String, SubServer>();
+    private volatile Map<String, SubServer> sorted = null;
     private String name;
     private boolean enabled;
     private InetAddress address;
@@ -88,23 +90,43 @@ public class InternalHost extends Host {
 
     @Override
     public Map<String, ? extends SubServer> getSubServers() {
-        return new TreeMap<String, SubServer>(servers);
+        Map<String, SubServer> sorted = this.sorted;
+        if (sorted == null) synchronized (servers) {
+            if ((sorted = this.sorted) == null) this.sorted = sorted = Collections.unmodifiableMap(new TreeMap<String, SubServer>(servers));
+        }
+        return sorted;
     }
 
     @Override
     public SubServer getSubServer(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        return getSubServers().get(name.toLowerCase());
+        return servers.get(name.toLowerCase());
+    }
+
+    private void register(SubServer server) {
+        synchronized (servers) {
+            servers.put(server.getName().toLowerCase(), server);
+            sorted = null;
+        }
+        plugin.registry.add(server);
+    }
+
+    private void unregister(SubServer server) {
+        synchronized (servers) {
+            servers.remove(server.getName().toLowerCase(), server);
+            sorted = null;
+        }
+        plugin.registry.remove(server);
     }
 
     @Override
     public SubServer addSubServer(UUID player, String name, boolean enabled, int port, String motd, boolean log, String directory, String executable, String stopcmd, boolean hidden, boolean restricted) throws InvalidServerException {
-        if (plugin.api.getServers().keySet().contains(name.toLowerCase())) throw new InvalidServerException("A Server already exists with this name!");
+        if (plugin.registry.contains(name)) throw new InvalidServerException("A Server already exists with this name!");
         SubServer server = InternalSubServer.construct(this, name, enabled, port, motd, log, directory, executable, stopcmd, hidden, restricted);
         SubAddServerEvent event = new SubAddServerEvent(player, this, server);
         plugin.getPluginManager().callEvent(event);
         if (!event.isCancelled()) {
-            servers.put(name.toLowerCase(), server);
+            register(server);
             if (UPnP.isUPnPAvailable() && plugin.config.get().getMap("Settings").getMap("UPnP", new ObjectMap<String>()).getBoolean("Forward-Servers", false)) UPnP.openPortTCP(port);
             return server;
         } else {
@@ -125,7 +147,7 @@ public class InternalHost extends Host {
             }
             if (UPnP.isUPnPAvailable() && UPnP.isMappedTCP(server.getAddress().getPort()))
                 UPnP.closePortTCP(server.getAddress().getPort());
-            servers.remove(name.toLowerCase());
+            unregister(server);
             return true;
         } else return false;
     }
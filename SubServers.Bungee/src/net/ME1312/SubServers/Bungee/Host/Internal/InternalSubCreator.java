@@ -68,6 +68,7 @@ public class InternalSubCreator extends SubCreator {
             this.version = version;
             this.port = port;
             this.log = new InternalSubLogger(null, this, prefix = name + File.separator + "Creator", InternalSubCreator.this.log, null);
+            this.log.getThrottle().setPolicy(0, 0, 0, false);
             this.replacements = new HashMap<String, String>();
             this.callback = callback;
         }
@@ -81,6 +82,7 @@ public class InternalSubCreator extends SubCreator {
             this.version = version;
             this.port = server.getAddress().getPort();
             this.log = new InternalSubLogger(null, this, prefix = name + File.separator + "Updater", InternalSubCreator.this.log, null);
+            this.log.getThrottle().setPolicy(0, 0, 0, false);
             this.replacements = new HashMap<String, String>();
             this.callback = callback;
         }
@@ -269,7 +271,7 @@ public class InternalSubCreator extends SubCreator {
                     SubServer subserver = update;
                     if (update == null || update.getTemplate() != template || template.getBuildOptions().getBoolean("Update-Settings", false)) {
                         if (host.plugin.exServers.keySet().contains(name.toLowerCase()))
-                            host.plugin.exServers.remove(name.toLowerCase());
+                            host.plugin.registry.remove(host.plugin.exServers.remove(name.toLowerCase()));
 
                         config = new ObjectMap<String>((Map<String, ?>) replacements.replace(config.get()));
 
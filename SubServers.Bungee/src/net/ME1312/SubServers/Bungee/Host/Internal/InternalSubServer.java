@@ -352,7 +352,8 @@ public class InternalSubServer extends SubServerImpl {
                                 break;
                             case "group":
                                 if (value.isList()) {
-                                    Util.reflect(ServerImpl.class.getDeclaredField("groups"), this, value.asRawStringList());
+                                    for (String group : new ArrayList<String>(getGroups())) removeGroup(group);
+                                    for (String group : value.asRawStringList()) addGroup(group);
                                     if (perma && this.host.plugin.servers.get().getMap("Servers").getKeys().contains(getName())) {
                                         this.host.plugin.servers.get().getMap("Servers").getMap(getName()).set("Group", value.asRawStringList());
                                         this.host.plugin.servers.save();
@@ -553,6 +554,7 @@ public class InternalSubServer extends SubServerImpl {
                 }
             }
             if (!isRunning() && forward == null && state) start(player);
+            if (c > 0) invalidateCache();
             return c;
         } else return -1;
     }
@@ -590,6 +592,7 @@ public class InternalSubServer extends SubServerImpl {
         if (Util.isNull(value)) throw new NullPointerException();
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("enabled", value), false));
         enabled = value;
+        invalidateCache();
     }
 
     @Override
@@ -602,6 +605,7 @@ public class InternalSubServer extends SubServerImpl {
         if (Util.isNull(value)) throw new NullPointerException();
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("log", value), false));
         log.set(value);
+        invalidateCache();
     }
 
     @Override
@@ -634,6 +638,7 @@ public class InternalSubServer extends SubServerImpl {
         if (Util.isNull(value)) throw new NullPointerException();
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("stop-cmd", value), false));
         stopcmd = value;
+        invalidateCache();
     }
 
     @Override
@@ -646,5 +651,6 @@ public class InternalSubServer extends SubServerImpl {
         if (Util.isNull(action)) throw new NullPointerException();
         host.plugin.getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("stop-action", action), false));
         stopaction = action;
+        invalidateCache();
     }
 }
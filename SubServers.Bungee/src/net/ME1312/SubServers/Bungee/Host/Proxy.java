@@ -9,6 +9,8 @@ import net.ME1312.Galaxi.Library.ExtraDataHandler;
 import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Server.ClientHandler;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+import net.ME1312.SubServers.Bungee.Library.SubDataCache;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketExSyncPlayer;
 import net.ME1312.SubServers.Bungee.SubAPI;
 import net.ME1312.SubServers.Bungee.SubProxy;
@@ -27,6 +29,7 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
     private boolean persistent;
     private String nick = null;
     private final String name;
+    private final SubDataCache cache = new SubDataCache();
 
     public Proxy(String name) throws IllegalArgumentException {
         this(name, name != null);
@@ -68,14 +71,12 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
         }
 
         if (update) {
+            invalidateCache();
             DataClient[] subdata = getSubData();
             if (subdata[0] == null && subdata.length <= 1) {
                 SubProxy plugin = SubAPI.getInstance().getInternals();
-                for (UUID id : Util.getBackwards(plugin.rPlayerLinkP, this)) {
-                    plugin.rPlayerLinkS.remove(id);
-                    plugin.rPlayerLinkP.remove(id);
-                    plugin.rPlayers.remove(id);
-                }
+                plugin.rPlayers.unlink(this);
+                if (SmartFallback.getJoinQueue() != null) SmartFallback.getJoinQueue().drop(this);
                 for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null && proxy != this) {
                     ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketExSyncPlayer(getName(), null, (RemotePlayer[]) null));
                 }
@@ -121,6 +122,7 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
         } else {
             this.nick = value;
         }
+        invalidateCache();
     }
 
     /**
@@ -139,12 +141,7 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
      */
     @SuppressWarnings("deprecation")
     public Collection<RemotePlayer> getPlayers() {
-        SubProxy plugin = SubAPI.getInstance().getInternals();
-        ArrayList<RemotePlayer> players = new ArrayList<RemotePlayer>();
-        for (UUID id : Util.getBackwards(plugin.rPlayerLinkP, this)) {
-            players.add(plugin.rPlayers.get(id));
-        }
-        return players;
+        return SubAPI.getInstance().getInternals().rPlayers.getPlayers(this);
     }
 
     /**
@@ -160,6 +157,7 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
     public void addExtra(String handle, Object value) {
         if (Util.isNull(handle, value)) throw new NullPointerException();
         extra.set(handle, value);
+        invalidateCache();
     }
 
     @Override
@@ -183,10 +181,27 @@ public class Proxy implements ClientHandler, ExtraDataHandler {
     public void removeExtra(String handle) {
         if (Util.isNull(handle)) throw new NullPointerException();
         extra.remove(handle);
+        invalidateCache();
+    }
+
+    /**
+     * Mark the cached SubData serialization of this Proxy as outdated
+     */
+    public void invalidateCache() {
+        cache.invalidate();
     }
 
+    /**
+     * Get the SubData serialization of this Proxy (shared between calls, do not modify)
+     *
+     * @return SubData Serialization
+     */
     @Override
     public ObjectMap<String> forSubData() {
+        return cache.get(isMaster(), this::serialize);
+    }
+
+    private ObjectMap<String> serialize() {
         ObjectMap<String> info = new ObjectMap<String>();
         info.set("type", "Proxy");
         info.set("name", getName());
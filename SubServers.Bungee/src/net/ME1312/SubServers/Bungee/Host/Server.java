@@ -65,6 +65,15 @@ public interface Server extends ServerInfo, ClientHandler, ExtraDataHandler {
      */
     Collection<RemotePlayer> getGlobalPlayers();
 
+    /**
+     * Get the amount of players on this server across all known proxies
+     *
+     * @return Remote Player count
+     */
+    default int getGlobalPlayerCount() {
+        return getGlobalPlayers().size();
+    }
+
     /**
      * If the server is hidden from players
      *
@@ -8,12 +8,13 @@ import net.ME1312.SubServers.Bungee.Event.SubNetworkDisconnectEvent;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Map.ObjectMapValue;
 import net.ME1312.SubServers.Bungee.Library.Exception.InvalidServerException;
+import net.ME1312.SubServers.Bungee.Library.SubDataCache;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
 import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketOutExRunEvent;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketOutExUpdateWhitelist;
 import net.ME1312.SubServers.Bungee.SubAPI;
-import net.ME1312.SubServers.Bungee.SubProxy;
 import net.md_5.bungee.BungeeServerInfo;
 import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
@@ -33,6 +34,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     private List<UUID> whitelist = new ArrayList<UUID>();
     private boolean hidden;
     private final String signature = SubAPI.getInstance().signAnonymousObject();
+    private final SubDataCache cache = new SubDataCache();
 
     /**
      * Construct a new Server data type
@@ -103,6 +105,10 @@ public class ServerImpl extends BungeeServerInfo implements Server {
             subdata.remove(channel);
         }
 
+        if (update) {
+            invalidateCache();
+            SmartFallback.invalidate();
+        }
         if (update) for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null) {
             ObjectMap<String> args = new ObjectMap<String>();
             args.set("server", getName());
@@ -132,6 +138,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
             SubAPI.getInstance().getInternals().getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("display", value), false));
             this.nick = value;
         }
+        invalidateCache();
     }
 
     @Override
@@ -146,6 +153,8 @@ public class ServerImpl extends BungeeServerInfo implements Server {
         if (value.length() > 0 && !groups.contains(value)) {
             groups.add(value);
             Collections.sort(groups);
+            SubAPI.getInstance().getInternals().registry.addGroup(this, value);
+            invalidateCache();
         }
     }
 
@@ -153,19 +162,23 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     @SuppressWarnings("deprecation")
     public void removeGroup(String value) {
         if (Util.isNull(value)) throw new NullPointerException();
-        groups.remove(value);
-        Collections.sort(groups);
+        if (groups.remove(value)) {
+            Collections.sort(groups);
+            SubAPI.getInstance().getInternals().registry.removeGroup(this, value);
+            invalidateCache();
+        }
     }
 
     @SuppressWarnings("deprecation")
     @Override
     public Collection<RemotePlayer> getGlobalPlayers() {
-        SubProxy plugin = SubAPI.getInstance().getInternals();
-        ArrayList<RemotePlayer> players = new ArrayList<RemotePlayer>();
-        for (UUID id : Util.getBackwards(plugin.rPlayerLinkS, this)) {
-            players.add(plugin.rPlayers.get(id));
-        }
-        return players;
+        return SubAPI.getInstance().getInternals().rPlayers.getPlayers(this);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int getGlobalPlayerCount() {
+        return SubAPI.getInstance().getInternals().rPlayers.count(this);
     }
 
     @Override
@@ -179,6 +192,8 @@ public class ServerImpl extends BungeeServerInfo implements Server {
         if (Util.isNull(value)) throw new NullPointerException();
         SubAPI.getInstance().getInternals().getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("hidden", value), false));
         this.hidden = value;
+        invalidateCache();
+        SmartFallback.invalidate();
     }
 
     @SuppressWarnings("deprecation")
@@ -190,6 +205,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        invalidateCache();
     }
 
     @SuppressWarnings("deprecation")
@@ -201,6 +217,8 @@ public class ServerImpl extends BungeeServerInfo implements Server {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        invalidateCache();
+        SmartFallback.invalidate();
     }
 
     @Override
@@ -228,6 +246,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     public void whitelist(UUID player) {
         if (Util.isNull(player)) throw new NullPointerException();
         if (!whitelist.contains(player)) whitelist.add(player);
+        invalidateCache();
         for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null) ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketOutExUpdateWhitelist(getName(), true, player));
     }
 
@@ -235,6 +254,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     public void unwhitelist(UUID player) {
         if (Util.isNull(player)) throw new NullPointerException();
         whitelist.remove(player);
+        invalidateCache();
         for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null) ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketOutExUpdateWhitelist(getName(), false, player));
     }
 
@@ -247,6 +267,7 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     public void addExtra(String handle, Object value) {
         if (Util.isNull(handle, value)) throw new NullPointerException();
         extra.set(handle, value);
+        invalidateCache();
     }
 
     @Override
@@ -270,10 +291,52 @@ public class ServerImpl extends BungeeServerInfo implements Server {
     public void removeExtra(String handle) {
         if (Util.isNull(handle)) throw new NullPointerException();
         extra.remove(handle);
+        invalidateCache();
+    }
+
+    /**
+     * Mark the cached SubData serialization of this Server as outdated
+     */
+    public void invalidateCache() {
+        cache.invalidate();
+    }
+
+    /**
+     * Get the state that the cached SubData serialization of this Server depends on<br>
+     * The cache is rebuilt whenever this changes
+     *
+     * @return Volatile State (compared with equals())
+     */
+    protected Object getVolatileState() {
+        return null;
+    }
+
+    /**
+     * Get the revision of the SubData serialization of this Server
+     *
+     * @return SubData Revision
+     */
+    public long getRevision() {
+        forSubData();
+        return cache.getRevision();
     }
 
+    /**
+     * Get the SubData serialization of this Server (shared between calls, do not modify)
+     *
+     * @return SubData Serialization
+     */
     @Override
     public ObjectMap<String> forSubData() {
+        return cache.get(getVolatileState(), this::serialize);
+    }
+
+    /**
+     * Serialize this Server for SubData
+     *
+     * @return SubData Serialization
+     */
+    protected ObjectMap<String> serialize() {
         ObjectMap<String> info = new ObjectMap<String>();
         info.set("type", "Server");
         info.set("name", getName());
@@ -0,0 +1,177 @@
+package net.ME1312.SubServers.Bungee.Host;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * SubLogger Scrollback Buffer Class<br>
+ * Keeps the most recent lines of a SubLogger in memory, so they can be read back without touching any files
+ */
+public class SubLogBuffer {
+    /**
+     * Lines kept when a server doesn't say otherwise
+     */
+    public static final int DEFAULT_CAPACITY = 200;
+    private static final int MAX_MESSAGE = 4096;
+    private Entry[] entries;
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Scrollback Entry Class
+     */
+    public static final class Entry {
+        private final long time;
+        private final Level level;
+        private final String message;
+
+        private Entry(long time, Level level, String message) {
+            this.time = time;
+            this.level = level;
+            this.message = message;
+        }
+
+        /**
+         * Get when the line was logged
+         *
+         * @return Time (in milliseconds since epoch)
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Get the level of the line
+         *
+         * @return Log Level
+         */
+        public Level getLevel() {
+            return level;
+        }
+
+        /**
+         * Get the message of the line
+         *
+         * @return Message
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Get the Entry as an Object Map
+         *
+         * @return Entry Map
+         */
+        public ObjectMap<String> forSubData() {
+            ObjectMap<String> data = new ObjectMap<String>();
+            data.set("time", time);
+            data.set("level", level.getName());
+            data.set("message", message);
+            return data;
+        }
+    }
+
+    /**
+     * Create a Scrollback Buffer
+     */
+    public SubLogBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a Scrollback Buffer
+     *
+     * @param capacity Amount of lines to keep (or 0 to keep none)
+     */
+    public SubLogBuffer(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative");
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Add a line<br>
+     * The oldest line is dropped once the buffer is full, and overly long messages are cut short
+     *
+     * @param level Log Level
+     * @param message Message
+     */
+    public synchronized void add(Level level, String message) {
+        if (Util.isNull(level, message)) throw new NullPointerException();
+        if (entries.length <= 0) return;
+        if (message.length() > MAX_MESSAGE) message = message.substring(0, MAX_MESSAGE);
+        entries[head] = new Entry(System.currentTimeMillis(), level, message);
+        head = (head + 1) % entries.length;
+        if (size < entries.length) ++size;
+    }
+
+    /**
+     * Get every line in the buffer
+     *
+     * @return Entries (oldest first)
+     */
+    public List<Entry> getEntries() {
+        return getEntries(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the most recent lines in the buffer
+     *
+     * @param amount Amount of lines
+     * @return Entries (oldest first)
+     */
+    public synchronized List<Entry> getEntries(int amount) {
+        int count = Math.max(0, Math.min(amount, size));
+        ArrayList<Entry> list = new ArrayList<Entry>(count);
+        for (int i = count; i > 0; --i) list.add(entries[(head - i + entries.length) % entries.length]);
+        return list;
+    }
+
+    /**
+     * Get the amount of lines in the buffer
+     *
+     * @return Line Count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get the amount of lines this buffer can hold
+     *
+     * @return Capacity
+     */
+    public synchronized int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Change the amount of lines this buffer can hold<br>
+     * The most recent lines are kept
+     *
+     * @param capacity Amount of lines to keep (or 0 to keep none)
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative");
+        if (capacity != entries.length) {
+            List<Entry> kept = getEntries(capacity);
+            entries = new Entry[capacity];
+            for (int i = 0; i < kept.size(); ++i) entries[i] = kept.get(i);
+            size = kept.size();
+            head = (capacity <= 0)?0:size % capacity;
+        }
+    }
+
+    /**
+     * Remove every line from the buffer
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; ++i) entries[i] = null;
+        head = 0;
+        size = 0;
+    }
+}
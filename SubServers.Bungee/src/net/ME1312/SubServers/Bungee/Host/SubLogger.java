@@ -1,5 +1,7 @@
 package net.ME1312.SubServers.Bungee.Host;
 
+import net.ME1312.SubServers.Bungee.Library.LogThrottle;
+
 /**
  * SubLogger Layout Class
  */
@@ -36,6 +38,33 @@ public abstract class SubLogger {
      */
     public abstract boolean isLogging();
 
+    /**
+     * Get the Scrollback Buffer that holds this Logger's most recent lines
+     *
+     * @return Scrollback Buffer (or an empty one if this Logger doesn't keep one)
+     */
+    public SubLogBuffer getScrollback() {
+        return new SubLogBuffer(0);
+    }
+
+    /**
+     * Get the Throttle that protects this Logger from being flooded
+     *
+     * @return Log Throttle (or one that lets everything through if this Logger isn't throttled)
+     */
+    public LogThrottle getThrottle() {
+        return new LogThrottle(0, 0, 0, false);
+    }
+
+    /**
+     * Get the amount of lines that could not be written to the log file
+     *
+     * @return Lost Line Count (or 0 if this Logger doesn't count them)
+     */
+    public long getLostLines() {
+        return 0;
+    }
+
     /**
      * Register Filter
      *
@@ -110,6 +110,7 @@ public abstract class SubServerImpl extends ServerImpl implements SubServer {
         SubAPI.getInstance().getInternals().getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("template", template), false));
         this.templateV = null;
         this.templateS = template;
+        invalidateCache();
     }
 
     @Override
@@ -117,6 +118,7 @@ public abstract class SubServerImpl extends ServerImpl implements SubServer {
         SubAPI.getInstance().getInternals().getPluginManager().callEvent(new SubEditServerEvent(null, this, new NamedContainer<String, Object>("template", (template != null)?template.getName():null), false));
         this.templateV = template;
         this.templateS = (template != null)?template.getName():null;
+        invalidateCache();
     }
 
     @Override
@@ -149,6 +151,7 @@ public abstract class SubServerImpl extends ServerImpl implements SubServer {
                 }
             }
         }
+        invalidateCache();
     }
 
     @Override
@@ -182,10 +185,20 @@ public abstract class SubServerImpl extends ServerImpl implements SubServer {
         return servers;
     }
 
+    @Override
+    protected Object getVolatileState() {
+        List<Object> state = new ArrayList<Object>();
+        state.add(isRunning());
+        state.add(isOnline());
+        state.add(isAvailable());
+        state.addAll(getCurrentIncompatibilities());
+        return state;
+    }
+
     @SuppressWarnings({"deprecation", "unchecked"})
     @Override
-    public ObjectMap<String> forSubData() {
-        ObjectMap<String> sinfo = super.forSubData();
+    protected ObjectMap<String> serialize() {
+        ObjectMap<String> sinfo = super.serialize();
         sinfo.set("type", "SubServer");
         sinfo.set("host", getHost().getName());
         sinfo.set("template", (getTemplate() != null)?getTemplate().getName():null);
@@ -16,7 +16,7 @@ public class LegacyServerMap implements Map<String, ServerInfo> {
     /**
      * Translate Legacy Server Map Modifications
      *
-     * @param map Legacy Server Map
+     * @param map Legacy Server Map (may be a read-only live view)
      */
     public LegacyServerMap(Map<String, ServerInfo> map) {
         this.m = map;
@@ -34,7 +34,7 @@ public class LegacyServerMap implements Map<String, ServerInfo> {
         ServerInfo n = SubAPI.getInstance().addServer(value.getName(), value.getAddress().getAddress(), value.getAddress().getPort(), value.getMotd(), false, value.isRestricted()),
                    s = getOrDefault(key, null);
 
-        if (n != null)
+        if (n != null && m.get(n.getName()) != n)
             m.put(n.getName(), n);
         return s;
     }
@@ -44,7 +44,7 @@ public class LegacyServerMap implements Map<String, ServerInfo> {
         if (key instanceof String) {
             ServerInfo s = getOrDefault(key, null);
             if (s != null) {
-                if (SubAPI.getInstance().removeServer((String) key))
+                if (SubAPI.getInstance().removeServer((String) key) && m.containsKey(key))
                     m.remove(key);
                 return s;
             } else return null;
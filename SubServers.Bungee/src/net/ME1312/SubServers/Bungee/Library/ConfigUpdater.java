@@ -156,9 +156,42 @@ public class ConfigUpdater {
             smart_fallback.set("Enabled", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Enabled", true));
             smart_fallback.set("Fallback", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Fallback", true));
             smart_fallback.set("Reconnect", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Reconnect", false));
+            smart_fallback.set("Reconnect-Expire", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getInt("Reconnect-Expire", 30));
             smart_fallback.set("DNS-Forward", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("DNS-Forward", false));
+            smart_fallback.set("Ping-Timeout", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getInt("Ping-Timeout", 2000));
+            smart_fallback.set("Inspector-Timeout", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getInt("Inspector-Timeout", 0));
+            smart_fallback.set("Parallel-Inspection", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Parallel-Inspection", false));
+
+            YAMLSection status_cache = new YAMLSection();
+            status_cache.set("TTL", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getLong("TTL", 5000L));
+            status_cache.set("Expire", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getLong("Expire", 60000L));
+            status_cache.set("Max-Entries", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getInt("Max-Entries", 1024));
+            smart_fallback.set("Status-Cache", status_cache);
+
+            YAMLSection join_queue = new YAMLSection();
+            join_queue.set("Enabled", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getBoolean("Enabled", false));
+            join_queue.set("Limbo-Server", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getRawString("Limbo-Server", ""));
+            join_queue.set("Release-Rate", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getDouble("Release-Rate", 2D));
+            join_queue.set("Retry-Delay", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getInt("Retry-Delay", 3));
+            join_queue.set("Position-Update", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getInt("Position-Update", 5));
+            join_queue.set("Release-Timeout", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getInt("Release-Timeout", 30));
+            smart_fallback.set("Join-Queue", join_queue);
+
+            YAMLSection load_balance = new YAMLSection();
+            load_balance.set("Enabled", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getBoolean("Enabled", false));
+            load_balance.set("Soft-Capacity", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Soft-Capacity", 50));
+            load_balance.set("Hard-Capacity", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Hard-Capacity", 0));
+            load_balance.set("Join-Rate-Window", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Join-Rate-Window", 10));
+            load_balance.set("Servers", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getMap("Servers", new YAMLSection()));
+            smart_fallback.set("Load-Balance", load_balance);
             settings.set("Smart-Fallback", smart_fallback);
 
+            YAMLSection log_rotation = new YAMLSection();
+            log_rotation.set("Size", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getLong("Size", 10L));
+            log_rotation.set("Age", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getLong("Age", 24L));
+            log_rotation.set("Keep", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getInt("Keep", 10));
+            settings.set("Log-Rotation", log_rotation);
+
             YAMLSection upnp = new YAMLSection();
             upnp.set("Forward-Proxy", updated.getMap("Settings", new YAMLSection()).getMap("UPnP", new YAMLSection()).getBoolean("Forward-Proxy", true));
             upnp.set("Forward-SubData", updated.getMap("Settings", new YAMLSection()).getMap("UPnP", new YAMLSection()).getBoolean("Forward-SubData", false));
@@ -268,6 +301,13 @@ public class ConfigUpdater {
                 server.set("Restricted", updated.getMap("Servers").getMap(name).getBoolean("Restricted", false));
                 server.set("Incompatible", updated.getMap("Servers").getMap(name).getRawStringList("Incompatible", Collections.emptyList()));
                 server.set("Hidden", updated.getMap("Servers").getMap(name).getBoolean("Hidden", false));
+                server.set("Scrollback", updated.getMap("Servers").getMap(name).getInt("Scrollback", 200));
+                YAMLSection flood_protection = new YAMLSection();
+                flood_protection.set("Rate", updated.getMap("Servers").getMap(name).getMap("Flood-Protection", new YAMLSection()).getInt("Rate", 100));
+                flood_protection.set("Burst", updated.getMap("Servers").getMap(name).getMap("Flood-Protection", new YAMLSection()).getInt("Burst", 1000));
+                flood_protection.set("Sample", updated.getMap("Servers").getMap(name).getMap("Flood-Protection", new YAMLSection()).getInt("Sample", 100));
+                flood_protection.set("Collapse", updated.getMap("Servers").getMap(name).getMap("Flood-Protection", new YAMLSection()).getBoolean("Collapse", true));
+                server.set("Flood-Protection", flood_protection);
                 if (updated.getMap("Servers").getMap(name).contains("Extra")) server.set("Extra", updated.getMap("Servers").getMap(name).getMap("Extra"));
                 servers.set(name, server);
             }
@@ -338,6 +378,8 @@ public class ConfigUpdater {
             LinkedHashMap<String, String> def = new LinkedHashMap<String, String>();
             def.put("Bungee.Feature.Smart-Fallback", "&6Returning from $str$: &r$msg$");
             def.put("Bungee.Feature.Smart-Fallback.Result", "&6You are now on $str$.");
+            def.put("Bungee.Feature.Join-Queue", "&6All servers are full right now, so you have been placed in line.");
+            def.put("Bungee.Feature.Join-Queue.Position", "&6You are #$int$ in line.");
             def.put("Bungee.Ping.Offline", "&6&l[&e&lWarning&6&l] &7Backend server(s) are not running");
             def.put("Bungee.Server.Current", "&6You are currently connected to $str$");
             def.put("Bungee.Server.Available", "&6You may connect to the following servers at this time:");
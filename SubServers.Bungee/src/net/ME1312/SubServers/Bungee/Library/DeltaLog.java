@@ -0,0 +1,124 @@
+package net.ME1312.SubServers.Bungee.Library;
+
+import net.ME1312.Galaxi.Library.Container.NamedContainer;
+import net.ME1312.Galaxi.Library.Util;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Delta Synchronization Log Class<br>
+ * Hands out network-wide object revisions and remembers recently removed objects, so that clients can download only what changed since their last revision
+ */
+public class DeltaLog {
+    private static final UUID epoch = UUID.randomUUID();
+    private static final AtomicLong revision = new AtomicLong(0);
+    private static final ReentrantReadWriteLock publishing = new ReentrantReadWriteLock();
+    private final LinkedList<NamedContainer<String, Long>> removed = new LinkedList<NamedContainer<String, Long>>();
+    private final int capacity;
+    private long floor = 0;
+
+    /**
+     * Create a Delta Log
+     *
+     * @param capacity Amount of removals to remember before clients have to download a full snapshot again
+     */
+    public DeltaLog(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be greater than zero");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the ID of this set of revisions (revisions from another epoch cannot be compared)
+     *
+     * @return Revision Epoch
+     */
+    public static UUID getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Get the latest revision that every change has been published for
+     *
+     * @return Current Revision
+     */
+    public static long getRevision() {
+        publishing.writeLock().lock();
+        try {
+            return revision.get();
+        } finally {
+            publishing.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hand out a new revision<br>
+     * The change that uses it must be published before calling {@link #release()}, so that it can't be missed by a client that is told about a later revision
+     *
+     * @return New Revision
+     */
+    public static long acquire() {
+        publishing.readLock().lock();
+        return revision.incrementAndGet();
+    }
+
+    /**
+     * Mark a change from {@link #acquire()} as published
+     */
+    public static void release() {
+        publishing.readLock().unlock();
+    }
+
+    /**
+     * Hand out a new revision that doesn't belong to any change
+     *
+     * @return New Revision
+     */
+    public static long nextRevision() {
+        return revision.incrementAndGet();
+    }
+
+    /**
+     * Record an object removal
+     *
+     * @param key Object key
+     */
+    public synchronized void log(String key) {
+        if (Util.isNull(key)) throw new NullPointerException();
+        try {
+            removed.add(new NamedContainer<String, Long>(key, acquire()));
+        } finally {
+            release();
+        }
+        while (removed.size() > capacity) floor = removed.removeFirst().get();
+    }
+
+    /**
+     * Forget every removal (forcing clients to download a full snapshot)
+     */
+    public synchronized void reset() {
+        removed.clear();
+        floor = nextRevision();
+    }
+
+    /**
+     * Get the objects that were removed after a revision
+     *
+     * @param epoch Revision Epoch the client knows about (may be null)
+     * @param revision Revision the client knows about
+     * @return Removed object keys (or null if the client must download a full snapshot)
+     */
+    public synchronized List<String> getRemoved(UUID epoch, long revision) {
+        if (!DeltaLog.epoch.equals(epoch) || revision < floor || revision > getRevision()) return null;
+
+        LinkedList<String> keys = new LinkedList<String>();
+        Iterator<NamedContainer<String, Long>> it = removed.descendingIterator();
+        while (it.hasNext()) {
+            NamedContainer<String, Long> removal = it.next();
+            if (removal.get() <= revision) break;
+            keys.addFirst(removal.name());
+        }
+        return keys;
+    }
+}
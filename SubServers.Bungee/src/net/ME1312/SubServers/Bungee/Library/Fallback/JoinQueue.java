@@ -0,0 +1,309 @@
+package net.ME1312.SubServers.Bungee.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Server.SubDataClient;
+import net.ME1312.SubServers.Bungee.Host.Proxy;
+import net.ME1312.SubServers.Bungee.Network.Packet.PacketExJoinQueue;
+import net.ME1312.SubServers.Bungee.SubProxy;
+import net.md_5.bungee.api.config.ListenerInfo;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network Join Queue Class<br>
+ * Holds players on a limbo server while every fallback server is full or offline, then lets them back in at a steady pace as room frees up
+ */
+public class JoinQueue {
+    private static final long TICK = 250;
+    private final SubProxy plugin;
+    private final String limbo;
+    private final double rate;
+    private final long retry;
+    private final long notify;
+    private final long expire;
+    private final Set<UUID> held = ConcurrentHashMap.newKeySet();
+    private final ScheduledFuture<?> task;
+    private LinkedHashMap<UUID, Ticket> queue = new LinkedHashMap<UUID, Ticket>();
+    private final HashMap<UUID, Ticket> released = new HashMap<UUID, Ticket>();
+    private double tokens = 0;
+    private long paused = 0;
+    private long notified = 0;
+
+    private static final class Ticket {
+        private final UUID player;
+        private final Proxy proxy;
+        private long released = 0;
+
+        private Ticket(UUID player, Proxy proxy) {
+            this.player = player;
+            this.proxy = proxy;
+        }
+    }
+
+    /**
+     * Create a Join Queue
+     *
+     * @param plugin SubPlugin
+     * @param settings Join Queue Settings
+     */
+    public JoinQueue(SubProxy plugin, ObjectMap<String> settings) {
+        this(plugin, settings, null);
+    }
+
+    JoinQueue(SubProxy plugin, ObjectMap<String> settings, JoinQueue previous) {
+        if (Util.isNull(plugin, settings)) throw new NullPointerException();
+        if (previous != null) synchronized (previous) {
+            // Keep everyone's place in line across reloads
+            held.addAll(previous.held);
+            queue.putAll(previous.queue);
+            released.putAll(previous.released);
+        }
+        this.plugin = plugin;
+        this.limbo = settings.getRawString("Limbo-Server", "");
+        this.rate = Math.max(0.1, settings.getDouble("Release-Rate", 2D));
+        this.retry = TimeUnit.SECONDS.toMillis(Math.max(0, settings.getInt("Retry-Delay", 3)));
+        this.notify = TimeUnit.SECONDS.toMillis(Math.max(1, settings.getInt("Position-Update", 5)));
+        this.expire = TimeUnit.SECONDS.toMillis(Math.max(1, settings.getInt("Release-Timeout", 30)));
+        this.task = plugin.timer.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the Limbo Server that queued players are held on
+     *
+     * @return Limbo Server (or null if it is not available)
+     */
+    public ServerInfo getLimbo() {
+        return (limbo.length() <= 0)?null:plugin.getServerInfo(limbo);
+    }
+
+    /**
+     * Get the servers that a player could be released to
+     *
+     * @param listener Listener
+     * @param player Player
+     * @return Fallback Servers (without the Limbo Server)
+     */
+    public Map<String, ServerInfo> getAvailableServers(ListenerInfo listener, ProxiedPlayer player) {
+        Map<String, ServerInfo> fallbacks = SmartFallback.getFallbackServers(listener, player);
+        if (limbo.length() > 0) fallbacks.values().removeIf(server -> server.getName().equalsIgnoreCase(limbo));
+        return fallbacks;
+    }
+
+    /**
+     * Hold a player on this proxy until there's room for them
+     *
+     * @param player Player
+     * @return Limbo Server to send the player to (or null if they cannot be held)
+     */
+    @SuppressWarnings("deprecation")
+    public ServerInfo hold(ProxiedPlayer player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        ServerInfo limbo = getLimbo();
+        if (limbo != null && held.add(player.getUniqueId())) {
+            player.sendMessage(plugin.api.getLang("SubServers", "Bungee.Feature.Join-Queue"));
+            enqueue(player.getUniqueId(), plugin.mProxy);
+        }
+        return limbo;
+    }
+
+    /**
+     * Check if a player is held by this proxy
+     *
+     * @param player Player
+     * @return Held Status
+     */
+    public boolean isHeld(UUID player) {
+        return held.contains(player);
+    }
+
+    /**
+     * Stop holding a player on this proxy
+     *
+     * @param player Player
+     */
+    public void remove(UUID player) {
+        if (held.remove(player)) leave(player);
+    }
+
+    /**
+     * Put a player in line<br>
+     * Players that are already in line keep their place
+     *
+     * @param player Player
+     * @param proxy Proxy that's holding the player
+     */
+    public synchronized void enqueue(UUID player, Proxy proxy) {
+        if (Util.isNull(player, proxy)) throw new NullPointerException();
+        if (!queue.containsKey(player) && !released.containsKey(player)) queue.put(player, new Ticket(player, proxy));
+    }
+
+    /**
+     * Take a player out of line
+     *
+     * @param player Player
+     */
+    public synchronized void leave(UUID player) {
+        queue.remove(player);
+        released.remove(player);
+    }
+
+    /**
+     * Put a released player back at the front of the line<br>
+     * This means there wasn't room for them after all, so releases are paused for a while
+     *
+     * @param player Player
+     */
+    public synchronized void requeue(UUID player) {
+        Ticket ticket = released.remove(player);
+        if (ticket != null) {
+            LinkedHashMap<UUID, Ticket> queue = new LinkedHashMap<UUID, Ticket>();
+            queue.put(player, ticket);
+            queue.putAll(this.queue);
+            this.queue = queue;
+            ticket.released = 0;
+        }
+        paused = System.currentTimeMillis() + retry;
+    }
+
+    /**
+     * Take everyone held by a proxy out of line
+     *
+     * @param proxy Proxy
+     */
+    public synchronized void drop(Proxy proxy) {
+        queue.values().removeIf(ticket -> ticket.proxy == proxy);
+        released.values().removeIf(ticket -> ticket.proxy == proxy);
+    }
+
+    /**
+     * Get a player's place in line
+     *
+     * @param player Player
+     * @return Position (starting at 1, or 0 if the player isn't in line)
+     */
+    public synchronized int getPosition(UUID player) {
+        int position = 0;
+        for (UUID id : queue.keySet()) {
+            ++position;
+            if (id.equals(player)) return position;
+        }
+        return 0;
+    }
+
+    /**
+     * Get the amount of players in line
+     *
+     * @return Queue Size
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        LinkedList<Ticket> release = new LinkedList<Ticket>();
+        HashMap<Proxy, Map<UUID, Integer>> positions = null;
+        synchronized (this) {
+            tokens = Math.min(Math.max(1, rate), tokens + rate * TICK / 1000D);
+            if (now >= paused) {
+                for (Iterator<Ticket> i = queue.values().iterator(); tokens >= 1 && i.hasNext(); --tokens) {
+                    Ticket ticket = i.next();
+                    i.remove();
+                    ticket.released = now;
+                    released.put(ticket.player, ticket);
+                    release.add(ticket);
+                }
+            }
+
+            // Releases that were never answered go back to the front of the line, as their proxy may still be holding them
+            LinkedHashMap<UUID, Ticket> expired = new LinkedHashMap<UUID, Ticket>();
+            for (Iterator<Ticket> i = released.values().iterator(); i.hasNext();) {
+                Ticket ticket = i.next();
+                if (now - ticket.released >= expire) {
+                    i.remove();
+                    ticket.released = 0;
+                    expired.put(ticket.player, ticket);
+                }
+            }
+            if (!expired.isEmpty()) {
+                expired.putAll(queue);
+                queue = expired;
+            }
+
+            if (now - notified >= notify) {
+                notified = now;
+                positions = new HashMap<Proxy, Map<UUID, Integer>>();
+                int position = 0;
+                for (Ticket ticket : queue.values()) positions.computeIfAbsent(ticket.proxy, proxy -> new HashMap<UUID, Integer>()).put(ticket.player, ++position);
+            }
+        }
+
+        for (Ticket ticket : release) {
+            if (ticket.proxy.isMaster()) {
+                release(ticket.player);
+            } else if (ticket.proxy.getSubData()[0] != null) {
+                ((SubDataClient) ticket.proxy.getSubData()[0]).sendPacket(new PacketExJoinQueue(ticket.player));
+            } else {
+                leave(ticket.player);
+            }
+        }
+        if (positions != null) for (Map.Entry<Proxy, Map<UUID, Integer>> entry : positions.entrySet()) {
+            if (entry.getKey().isMaster()) {
+                update(entry.getValue());
+            } else if (entry.getKey().getSubData()[0] != null) {
+                ((SubDataClient) entry.getKey().getSubData()[0]).sendPacket(new PacketExJoinQueue(entry.getValue()));
+            }
+        }
+    }
+
+    private void release(UUID id) {
+        ProxiedPlayer player = plugin.getPlayer(id);
+        if (player == null || !held.contains(id)) {
+            remove(id);
+            leave(id);
+        } else if (player.getServer() == null) {
+            requeue(id);
+        } else {
+            Map<String, ServerInfo> fallbacks = getAvailableServers(player.getPendingConnection().getListener(), player);
+            if (fallbacks.isEmpty()) {
+                requeue(id);
+            } else {
+                player.connect(fallbacks.values().iterator().next(), (success, error) -> {
+                    if (success == Boolean.TRUE) {
+                        remove(id);
+                    } else {
+                        requeue(id);
+                    }
+                });
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void update(Map<UUID, Integer> positions) {
+        for (Map.Entry<UUID, Integer> position : positions.entrySet()) {
+            ProxiedPlayer player = plugin.getPlayer(position.getKey());
+            if (player != null && held.contains(position.getKey()))
+                player.sendMessage(plugin.api.getLang("SubServers", "Bungee.Feature.Join-Queue.Position").replace("$int$", position.getValue().toString()));
+        }
+    }
+
+    /**
+     * Stop releasing players
+     */
+    public void close() {
+        task.cancel(false);
+    }
+}
@@ -0,0 +1,119 @@
+package net.ME1312.SubServers.Bungee.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubServers.Bungee.Host.Server;
+import net.ME1312.SubServers.Bungee.SubProxy;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.ServerConnectEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.event.EventHandler;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load Balancing Fallback Inspector Class<br>
+ * Scores fallback servers by how full they are, so that a wave of players spreads out across them
+ */
+public class LoadBalancer implements FallbackInspector, Listener {
+    private final SubProxy plugin;
+    private final Capacity defaults;
+    private final HashMap<String, Capacity> capacities = new HashMap<String, Capacity>();
+    private final ConcurrentHashMap<String, Rate> joins = new ConcurrentHashMap<String, Rate>();
+    private final double window;
+
+    private static final class Capacity {
+        private final int soft;
+        private final int hard;
+
+        private Capacity(ObjectMap<String> settings, Capacity defaults) {
+            this.soft = Math.max(1, settings.getInt("Soft-Capacity", (defaults == null)?50:defaults.soft));
+            this.hard = Math.max(0, settings.getInt("Hard-Capacity", (defaults == null)?0:defaults.hard));
+        }
+    }
+
+    private static final class Rate {
+        private double value = 0;
+        private long updated = System.currentTimeMillis();
+
+        private synchronized double get(double window, boolean increment) {
+            long now = System.currentTimeMillis();
+            value *= Math.exp(-(now - updated) / window);
+            updated = now;
+            if (increment) value++;
+            return value;
+        }
+    }
+
+    /**
+     * Create a Load Balancer
+     *
+     * @param plugin SubPlugin
+     * @param settings Load Balancer Settings
+     */
+    public LoadBalancer(SubProxy plugin, ObjectMap<String> settings) {
+        if (Util.isNull(plugin, settings)) throw new NullPointerException();
+        this.plugin = plugin;
+        this.defaults = new Capacity(settings, null);
+        this.window = Math.max(1, settings.getInt("Join-Rate-Window", 10)) * 1000D;
+
+        ObjectMap<String> servers = settings.getMap("Servers", new ObjectMap<String>());
+        for (String server : servers.getKeys()) capacities.put(server.toLowerCase(), new Capacity(servers.getMap(server), defaults));
+    }
+
+    /**
+     * Get the amount of players on a Server across all known proxies
+     *
+     * @param server Server
+     * @return Player count
+     */
+    public int getPlayers(ServerInfo server) {
+        return (server instanceof Server)?plugin.rPlayers.count((Server) server):server.getPlayers().size();
+    }
+
+    /**
+     * Get the amount of recent connections to a Server<br>
+     * This includes players that are still connecting, and fades out over the configured join rate window
+     *
+     * @param server Server
+     * @return Recent Join count
+     */
+    public double getJoinRate(ServerInfo server) {
+        Rate rate = joins.get(server.getName().toLowerCase());
+        return (rate == null)?0:rate.get(window, false);
+    }
+
+    /**
+     * Get the Load of a Server
+     *
+     * @param server Server
+     * @return Load (where 1.0 means the server is at its soft capacity)
+     */
+    public double getLoad(ServerInfo server) {
+        return (getPlayers(server) + getJoinRate(server)) / capacity(server).soft;
+    }
+
+    private Capacity capacity(ServerInfo server) {
+        Capacity capacity = capacities.get(server.getName().toLowerCase());
+        return (capacity == null)?defaults:capacity;
+    }
+
+    @Override
+    public Double inspect(ProxiedPlayer player, ServerInfo server) {
+        Capacity capacity = capacity(server);
+        double players = getPlayers(server) + getJoinRate(server);
+        if (capacity.hard > 0 && players >= capacity.hard) return null;
+
+        // Weighted random key (always below 1, so it only reorders servers that are otherwise tied)
+        double weight = capacity.soft / (capacity.soft + players);
+        return Math.pow(ThreadLocalRandom.current().nextDouble(), 1 / weight);
+    }
+
+    @EventHandler(priority = Byte.MAX_VALUE)
+    public void join(ServerConnectEvent e) {
+        if (!e.isCancelled() && e.getTarget() != null) joins.computeIfAbsent(e.getTarget().getName().toLowerCase(), name -> new Rate()).get(window, true);
+    }
+}
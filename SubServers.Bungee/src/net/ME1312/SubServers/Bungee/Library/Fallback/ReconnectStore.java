@@ -0,0 +1,293 @@
+package net.ME1312.SubServers.Bungee.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reconnect Store Class<br>
+ * Remembers the last server of every player in a memory-mapped hash table, so that nothing has to be parsed or rewritten when players come and go
+ */
+public class ReconnectStore {
+    private static final int MAGIC = 0x53535243;
+    private static final int HEADER = 16;
+    private static final int SLOT = 56;
+    private static final int NAME = 32;
+    private static final int MIN_CAPACITY = 1024;
+    private static final byte EMPTY = 0;
+    private static final byte REMOVED = -1;
+    private static final String NONE = "";
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<UUID, String> pending = new ConcurrentHashMap<UUID, String>();
+    private final ScheduledFuture<?> task;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long expire;
+    private MappedByteBuffer table;
+    private int capacity;
+    private int size;
+    private int used;
+    private long compacted;
+    private boolean closed = false;
+
+    /**
+     * Open a Reconnect Store
+     *
+     * @param file Store File
+     * @param scheduler Scheduler to write changes with
+     * @param expire How long to remember players for (in milliseconds, or 0 for forever)
+     * @throws IOException
+     */
+    public ReconnectStore(File file, ScheduledExecutorService scheduler, long expire) throws IOException {
+        if (Util.isNull(file, scheduler)) throw new NullPointerException();
+        this.file = new RandomAccessFile(file, "rw");
+        this.channel = this.file.getChannel();
+        this.expire = Math.max(0, expire);
+        this.compacted = System.currentTimeMillis();
+
+        long length = channel.size();
+        if (length >= HEADER) {
+            table = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            capacity = table.getInt(4);
+            if (table.getInt(0) == MAGIC && Integer.bitCount(capacity) == 1 && capacity >= MIN_CAPACITY && length >= HEADER + (long) capacity * SLOT) {
+                // Recount, as the header may not have been written before we last stopped
+                for (int slot = 0; slot < capacity; ++slot) {
+                    byte state = table.get(HEADER + slot * SLOT + 20);
+                    if (state != EMPTY) {
+                        ++used;
+                        if (state != REMOVED) ++size;
+                    }
+                }
+            } else {
+                table = null;
+            }
+        }
+        if (table == null) {
+            // Missing or unreadable, so start over
+            map(MIN_CAPACITY);
+            clear();
+        }
+
+        this.task = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get the last server of a player
+     *
+     * @param player Player
+     * @return Server Name (or null if there isn't one)
+     */
+    public String get(UUID player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        String name = pending.get(player);
+        if (name != null) return (name.length() <= 0)?null:name;
+
+        lock.readLock().lock();
+        try {
+            if (closed) return null;
+            int slot = find(player);
+            if (slot < 0) return null;
+
+            int position = HEADER + slot * SLOT;
+            if (expire > 0 && minutes() - table.getInt(position + 16) > TimeUnit.MILLISECONDS.toMinutes(expire)) return null;
+            byte[] raw = new byte[table.get(position + 20)];
+            for (int i = 0; i < raw.length; ++i) raw[i] = table.get(position + 21 + i);
+            return new String(raw, StandardCharsets.UTF_8);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Set the last server of a player<br>
+     * Changes are written to the store in the background
+     *
+     * @param player Player
+     * @param server Server Name (or null to forget the player)
+     */
+    public void set(UUID player, String server) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        if (server != null && server.getBytes(StandardCharsets.UTF_8).length > NAME) server = null;
+        pending.put(player, (server == null)?NONE:server);
+    }
+
+    /**
+     * Get the amount of players in the store
+     *
+     * @return Player Count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write all pending changes to the store
+     */
+    public void flush() {
+        if (pending.isEmpty() && (expire <= 0 || System.currentTimeMillis() - compacted < TimeUnit.HOURS.toMillis(1))) return;
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            int now = minutes();
+            for (Map.Entry<UUID, String> entry : pending.entrySet()) {
+                if (entry.getValue().length() <= 0) {
+                    remove(entry.getKey());
+                } else {
+                    if ((used + 1) * 10L >= capacity * 7L) compact(Math.max(capacity, Integer.highestOneBit(Math.max(size + 1, 1) * 4)));
+                    put(entry.getKey(), entry.getValue(), now);
+                }
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+
+            // Periodic compaction (this clears out removed and expired players)
+            if ((used - size) * 4L >= capacity || (expire > 0 && System.currentTimeMillis() - compacted >= TimeUnit.HOURS.toMillis(1))) compact(capacity);
+            table.putInt(8, size);
+            table.putInt(12, used);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(UUID player) {
+        long msb = player.getMostSignificantBits();
+        long lsb = player.getLeastSignificantBits();
+        int mask = capacity - 1;
+        for (int slot = hash(msb, lsb) & mask, i = 0; i < capacity; slot = (slot + 1) & mask, ++i) {
+            int position = HEADER + slot * SLOT;
+            byte state = table.get(position + 20);
+            if (state == EMPTY) return -1;
+            if (state != REMOVED && table.getLong(position) == msb && table.getLong(position + 8) == lsb) return slot;
+        }
+        return -1;
+    }
+
+    private void put(UUID player, String server, int time) {
+        byte[] raw = server.getBytes(StandardCharsets.UTF_8);
+        int slot = find(player);
+        if (slot < 0) {
+            long msb = player.getMostSignificantBits();
+            long lsb = player.getLeastSignificantBits();
+            int mask = capacity - 1;
+            slot = hash(msb, lsb) & mask;
+            byte state;
+            while ((state = table.get(HEADER + slot * SLOT + 20)) != EMPTY && state != REMOVED) slot = (slot + 1) & mask;
+            if (state == EMPTY) ++used;
+            ++size;
+
+            int position = HEADER + slot * SLOT;
+            table.putLong(position, msb);
+            table.putLong(position + 8, lsb);
+        }
+
+        int position = HEADER + slot * SLOT;
+        table.putInt(position + 16, time);
+        for (int i = 0; i < raw.length; ++i) table.put(position + 21 + i, raw[i]);
+        table.put(position + 20, (byte) raw.length);
+    }
+
+    private void remove(UUID player) {
+        int slot = find(player);
+        if (slot >= 0) {
+            table.put(HEADER + slot * SLOT + 20, REMOVED);
+            --size;
+        }
+    }
+
+    private void compact(int capacity) throws IOException {
+        // Copy out the players we're keeping, then rebuild the table in place
+        int now = minutes();
+        long limit = TimeUnit.MILLISECONDS.toMinutes(expire);
+        ArrayList<byte[]> live = new ArrayList<byte[]>(size);
+        for (int slot = 0; slot < this.capacity; ++slot) {
+            int position = HEADER + slot * SLOT;
+            byte state = table.get(position + 20);
+            if (state != EMPTY && state != REMOVED && (expire <= 0 || now - table.getInt(position + 16) <= limit)) {
+                byte[] raw = new byte[SLOT];
+                for (int i = 0; i < SLOT; ++i) raw[i] = table.get(position + i);
+                live.add(raw);
+            }
+        }
+
+        if (capacity > this.capacity) map(capacity);
+        clear();
+        int mask = this.capacity - 1;
+        for (byte[] raw : live) {
+            ByteBuffer entry = ByteBuffer.wrap(raw);
+            int slot = hash(entry.getLong(0), entry.getLong(8)) & mask;
+            while (table.get(HEADER + slot * SLOT + 20) != EMPTY) slot = (slot + 1) & mask;
+            for (int i = 0; i < SLOT; ++i) table.put(HEADER + slot * SLOT + i, raw[i]);
+        }
+        size = used = live.size();
+        compacted = System.currentTimeMillis();
+    }
+
+    private void map(int capacity) throws IOException {
+        table = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+        this.capacity = capacity;
+    }
+
+    private void clear() {
+        for (int slot = 0; slot < capacity; ++slot) table.put(HEADER + slot * SLOT + 20, EMPTY);
+        table.putInt(0, MAGIC);
+        table.putInt(4, capacity);
+        table.putInt(8, size = 0);
+        table.putInt(12, used = 0);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int minutes() {
+        return (int) TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    /**
+     * Write all pending changes and close the store
+     */
+    public void close() {
+        task.cancel(false);
+        flush();
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                table.force();
+                channel.close();
+                file.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package net.ME1312.SubServers.Bungee.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Callback.Callback;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.md_5.bungee.BungeeServerInfo;
+import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.ServerPing;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.protocol.ProtocolConstants;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server Status Cache Class<br>
+ * Remembers the last ping of each server (for each protocol version it was asked about), so that server list pings are answered without ever reaching the backends themselves
+ */
+public class StatusCache {
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> refresher;
+    private final long ttl;
+    private final long expire;
+    private final long timeout;
+    private final int limit;
+    private final Set<Integer> protocols;
+
+    /**
+     * Server Status Class
+     */
+    public static final class Status {
+        private final ServerPing ping;
+        private final long time;
+
+        private Status(ServerPing ping) {
+            this.ping = ping;
+            this.time = System.currentTimeMillis();
+        }
+
+        /**
+         * Get the Ping Response
+         *
+         * @return Ping Response (or null if the server could not be reached)
+         */
+        public ServerPing getPing() {
+            return ping;
+        }
+
+        /**
+         * Get if the server could be reached
+         *
+         * @return Online Status
+         */
+        public boolean isOnline() {
+            return ping != null;
+        }
+
+        /**
+         * Get the amount of players on the server
+         *
+         * @return Player count (or 0 if the server could not be reached)
+         */
+        public int getPlayers() {
+            return (ping == null || ping.getPlayers() == null)?0:ping.getPlayers().getOnline();
+        }
+
+        /**
+         * Get the player limit of the server
+         *
+         * @return Player limit (or 0 if the server could not be reached)
+         */
+        public int getMaxPlayers() {
+            return (ping == null || ping.getPlayers() == null)?0:ping.getPlayers().getMax();
+        }
+
+        /**
+         * Get when this status was taken
+         *
+         * @return Time (in milliseconds since epoch)
+         */
+        public long getTime() {
+            return time;
+        }
+    }
+
+    private static final class Key {
+        private final ServerInfo server;
+        private final int protocol;
+
+        private Key(ServerInfo server, int protocol) {
+            this.server = server;
+            this.protocol = protocol;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && server.equals(((Key) other).server) && protocol == ((Key) other).protocol;
+        }
+
+        @Override
+        public int hashCode() {
+            return server.hashCode() * 31 + protocol;
+        }
+    }
+
+    private final class Entry {
+        private final ServerInfo server;
+        private final int protocol;
+        private final LinkedList<Callback<Status>> waiting = new LinkedList<Callback<Status>>();
+        private volatile Status status = null;
+        private volatile long accessed = System.currentTimeMillis();
+        private boolean refreshing = false;
+
+        private Entry(Key key) {
+            this.server = key.server;
+            this.protocol = key.protocol;
+        }
+
+        private void refresh() {
+            synchronized (this) {
+                if (refreshing) return;
+                refreshing = true;
+            }
+
+            AtomicBoolean done = new AtomicBoolean(false);
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (done.compareAndSet(false, true)) complete(null);
+            }, StatusCache.this.timeout, TimeUnit.MILLISECONDS);
+            Callback<ServerPing> callback = ping -> {
+                if (done.compareAndSet(false, true)) {
+                    timeout.cancel(false);
+                    complete(ping);
+                }
+            };
+            try {
+                if (server instanceof BungeeServerInfo) {
+                    ((BungeeServerInfo) server).ping((ping, error) -> callback.run((error == null)?ping:null), protocol);
+                } else {
+                    server.ping((ping, error) -> callback.run((error == null)?ping:null));
+                }
+            } catch (Throwable e) {
+                callback.run(null);
+            }
+        }
+
+        private void complete(ServerPing ping) {
+            Status status = new Status(ping);
+            LinkedList<Callback<Status>> waiting;
+            synchronized (this) {
+                this.status = status;
+                this.refreshing = false;
+                waiting = new LinkedList<Callback<Status>>(this.waiting);
+                this.waiting.clear();
+            }
+            for (Callback<Status> callback : waiting) {
+                try {
+                    callback.run(status);
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a Status Cache
+     *
+     * @param scheduler Scheduler to ping servers with
+     * @param settings Status Cache Settings
+     * @param timeout Ping Timeout (in milliseconds)
+     */
+    public StatusCache(ScheduledExecutorService scheduler, ObjectMap<String> settings, long timeout) {
+        if (Util.isNull(scheduler, settings)) throw new NullPointerException();
+        this.scheduler = scheduler;
+        this.ttl = Math.max(500, settings.getLong("TTL", 5000L));
+        this.expire = Math.max(ttl, settings.getLong("Expire", 60000L));
+        this.timeout = Math.max(1, timeout);
+        this.limit = Math.max(1, settings.getInt("Max-Entries", 1024));
+        this.protocols = new HashSet<Integer>(Util.getDespiteException(() -> ProtocolConstants.SUPPORTED_VERSION_IDS, Collections.emptyList()));
+        this.refresher = scheduler.scheduleAtFixedRate(this::refresh, ttl / 2, ttl / 2, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the last known status of a Server<br>
+     * Stale statuses are still returned, but will be refreshed in the background
+     *
+     * @param server Server
+     * @return Server Status (or null if the server has not been pinged yet)
+     */
+    public Status get(ServerInfo server) {
+        return get(server, -1);
+    }
+
+    /**
+     * Get the last known status of a Server<br>
+     * Stale statuses are still returned, but will be refreshed in the background
+     *
+     * @param server Server
+     * @param protocol Protocol Version to ping with (or -1 for the proxy's own)
+     * @return Server Status (or null if the server has not been pinged yet)
+     */
+    public Status get(ServerInfo server, int protocol) {
+        if (Util.isNull(server)) throw new NullPointerException();
+        Entry entry = access(server, protocol);
+        Status status = entry.status;
+        if (status == null || System.currentTimeMillis() - status.time >= ttl) entry.refresh();
+        return status;
+    }
+
+    /**
+     * Get the status of a Server<br>
+     * The callback runs right away if any status is known, otherwise it will wait for the first ping to finish
+     *
+     * @param server Server
+     * @param protocol Protocol Version to ping with (or -1 for the proxy's own)
+     * @param callback Status Callback
+     */
+    public void get(ServerInfo server, int protocol, Callback<Status> callback) {
+        if (Util.isNull(server, callback)) throw new NullPointerException();
+        Entry entry = access(server, protocol);
+        Status status;
+        synchronized (entry) {
+            if ((status = entry.status) == null) entry.waiting.add(callback);
+        }
+        if (status == null || System.currentTimeMillis() - status.time >= ttl) entry.refresh();
+        if (status != null) callback.run(status);
+    }
+
+    private Entry access(ServerInfo server, int protocol) {
+        // Backends may answer differently depending on the client's version, so each supported protocol version gets its own status
+        // Anything else (including junk from scanners) shares the proxy's own, so it can't make us ping the backends any more than usual
+        Key key = new Key(server, (protocols.contains(protocol))?protocol:ProxyServer.getInstance().getProtocolVersion());
+        if (protocol != key.protocol || entries.size() < limit || entries.containsKey(key)) {
+            Entry entry = entries.computeIfAbsent(key, Entry::new);
+            entry.accessed = System.currentTimeMillis();
+            return entry;
+        } else {
+            return access(server, -1);
+        }
+    }
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<Key, Entry>> i = entries.entrySet().iterator(); i.hasNext();) {
+            Entry entry = i.next().getValue();
+            if (now - entry.accessed >= expire) {
+                // Cold entries stop being pinged
+                i.remove();
+            } else {
+                Status status = entry.status;
+                if (status == null || now - status.time >= ttl / 2) entry.refresh();
+            }
+        }
+    }
+
+    /**
+     * Forget the status of a Server
+     *
+     * @param server Server
+     */
+    public void invalidate(ServerInfo server) {
+        if (Util.isNull(server)) throw new NullPointerException();
+        entries.keySet().removeIf(key -> key.server.equals(server));
+    }
+
+    /**
+     * Stop refreshing statuses in the background
+     */
+    public void close() {
+        refresher.cancel(false);
+        entries.clear();
+    }
+}
@@ -0,0 +1,63 @@
+package net.ME1312.SubServers.Bungee.Library;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Log Line Classifier Benchmark Class<br>
+ * Compares the classifier against the regular expressions SubLoggers used before it<br>
+ * Usage: java -cp SubServers.Bungee.jar net.ME1312.SubServers.Bungee.Library.LogClassifierBenchmark [rounds]
+ */
+public final class LogClassifierBenchmark {
+    private static final String PREFIX = "^((?:\\s*\\[?([0-9]{2}:[0-9]{2}:[0-9]{2})]?)?[\\s\\/\\\\\\|]*(?:\\[|\\[.*\\/)?(MESSAGE|INFO|WARNING|WARN|ERROR|ERR|SEVERE)\\]?:?(?:\\s*>)?\\s*)";
+    private static final String[] LINES = new String[]{
+            "[12:34:56] [Server thread/INFO]: Preparing spawn area: 42%",
+            "[12:34:56 INFO]: Steve[/127.0.0.1:51234] logged in with entity id 1337 at ([world]-12.5, 64.0, 8.25)",
+            "[12:34:56] [Server thread/WARN]: Can't keep up! Is the server overloaded? Running 2042ms or 40 ticks behind",
+            "[12:34:56 ERROR]: Could not pass event PlayerInteractEvent to ExamplePlugin v1.0",
+            "\u001B[33;1m[12:34:56] [Server thread/WARN]: \u001B[0mA coloured warning",
+            "[12:34:56] [Netty Epoll Server IO #3/INFO] [FML]: Client protocol version 2",
+            "\tat net.minecraft.server.MinecraftServer.run(MinecraftServer.java:624)",
+            "> list",
+    };
+
+    private LogClassifierBenchmark() {}
+
+    public static void main(String[] args) {
+        int rounds = (args.length > 0)?Integer.parseInt(args[0]):200000;
+        System.out.println("Warming up...");
+        run(rounds / 4, false);
+        run(rounds / 4, true);
+
+        long regex = run(rounds, false);
+        long classifier = run(rounds, true);
+        long lines = (long) rounds * LINES.length;
+        System.out.println("Regex:      " + (regex / lines) + " ns/line");
+        System.out.println("Classifier: " + (classifier / lines) + " ns/line");
+        System.out.println("Speedup:    " + Math.round(regex * 10D / Math.max(1, classifier)) / 10D + "x");
+    }
+
+    private static long run(int rounds, boolean classifier) {
+        int sink = 0;
+        long begin = System.nanoTime();
+        for (int r = 0; r < rounds; ++r) {
+            for (String line : LINES) {
+                if (classifier) {
+                    LogClassifier classified = LogClassifier.classify(line);
+                    sink += classified.getSeverity().ordinal() + classified.getMessage().length();
+                } else {
+                    // This is what each SubLogger used to do with every line
+                    String type = "";
+                    Matcher matcher = Pattern.compile(PREFIX).matcher(line.replaceAll("\u001B\\[[;\\d]*m", ""));
+                    while (matcher.find()) {
+                        type = matcher.group(3).toUpperCase();
+                    }
+                    sink += type.length() + line.replaceAll(PREFIX, "").length();
+                }
+            }
+        }
+        long time = System.nanoTime() - begin;
+        if (sink == 42) System.out.print("");
+        return time;
+    }
+}
@@ -0,0 +1,408 @@
+package net.ME1312.SubServers.Bungee.Library;
+
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubServers.Bungee.Host.Proxy;
+import net.ME1312.SubServers.Bungee.Host.RemotePlayer;
+import net.ME1312.SubServers.Bungee.Host.Server;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Remote Player Registry Class<br>
+ * Each player is stored as a single entry along with its links. Updates to the same player are serialized on a lock stripe, while reads never block.
+ */
+public class PlayerRegistry {
+    private final ConcurrentHashMap<UUID, Record> players = new ConcurrentHashMap<UUID, Record>();
+    private final ConcurrentSkipListSet<UUID> sorted = new ConcurrentSkipListSet<UUID>();
+    private final NavigableSet<UUID> order = Collections.unmodifiableNavigableSet(sorted);
+    private final ConcurrentHashMap<String, RemotePlayer> names = new ConcurrentHashMap<String, RemotePlayer>();
+    private final ConcurrentHashMap<Server, ConcurrentHashMap<UUID, RemotePlayer>> serverPlayers = new ConcurrentHashMap<Server, ConcurrentHashMap<UUID, RemotePlayer>>();
+    private final ConcurrentHashMap<Proxy, ConcurrentHashMap<UUID, RemotePlayer>> proxyPlayers = new ConcurrentHashMap<Proxy, ConcurrentHashMap<UUID, RemotePlayer>>();
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private final DeltaLog removed = new DeltaLog(4096);
+    private final Object[] locks = new Object[64];
+    private final Map<UUID, RemotePlayer> view = new View();
+
+    private static final class Record {
+        private final long revision;
+        private final RemotePlayer player;
+        private final Proxy proxy;
+        private final Server server;
+
+        private Record(long revision, RemotePlayer player) {
+            this.revision = revision;
+            this.player = player;
+            this.proxy = player.getProxy();
+            this.server = player.getServer();
+        }
+    }
+
+    /**
+     * Remote Player Registry Listener
+     */
+    public interface Listener {
+
+        /**
+         * Called after a Remote Player is added, replaced, or removed<br>
+         * Updates for the same player are delivered in order, while that player is still locked
+         *
+         * @param previous Previous Remote Player (or null if the player was added)
+         * @param current Current Remote Player (or null if the player was removed)
+         */
+        void update(RemotePlayer previous, RemotePlayer current);
+    }
+
+    public PlayerRegistry() {
+        for (int i = 0; i < locks.length; ++i) locks[i] = new Object();
+    }
+
+    private Object lock(UUID id) {
+        int hash = id.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+
+    /**
+     * Add a Listener
+     *
+     * @param listener Listener
+     */
+    public void addListener(Listener listener) {
+        if (Util.isNull(listener)) throw new NullPointerException();
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a Listener
+     *
+     * @param listener Listener
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Add a Remote Player and link it to its Proxy and Server (replacing any previous entry)
+     *
+     * @param player Remote Player
+     */
+    public void link(RemotePlayer player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        UUID id = player.getUniqueId();
+        synchronized (lock(id)) {
+            Record entry, previous;
+            try {
+                entry = new Record(DeltaLog.acquire(), player);
+                previous = players.put(id, entry);
+                sorted.add(id);
+            } finally {
+                DeltaLog.release();
+            }
+            if (previous != null) unindex(id, previous);
+            index(id, entry);
+            publish((previous == null)?null:previous.player, player);
+        }
+    }
+
+    /**
+     * Remove a Remote Player and its links
+     *
+     * @param id Player UUID
+     * @return the Remote Player that was removed (or null if there was none)
+     */
+    public RemotePlayer unlink(UUID id) {
+        if (Util.isNull(id)) throw new NullPointerException();
+        synchronized (lock(id)) {
+            Record entry = players.remove(id);
+            if (entry != null) {
+                sorted.remove(id);
+                unindex(id, entry);
+                removed.log(id.toString());
+                publish(entry.player, null);
+                return entry.player;
+            } else return null;
+        }
+    }
+
+    /**
+     * Remove a Remote Player and its links, but only if it is linked to a specific Proxy
+     *
+     * @param id Player UUID
+     * @param proxy Proxy
+     * @return the Remote Player that was removed (or null if there was none)
+     */
+    public RemotePlayer unlink(UUID id, Proxy proxy) {
+        if (Util.isNull(id, proxy)) throw new NullPointerException();
+        synchronized (lock(id)) {
+            Record entry = players.get(id);
+            if (entry != null && proxy.equals(entry.proxy)) {
+                return unlink(id);
+            } else return null;
+        }
+    }
+
+    /**
+     * Remove every Remote Player on a Proxy
+     *
+     * @param proxy Proxy
+     * @return UUIDs of the players that were removed
+     */
+    public Collection<UUID> unlink(Proxy proxy) {
+        if (Util.isNull(proxy)) throw new NullPointerException();
+        ConcurrentHashMap<UUID, RemotePlayer> players = proxyPlayers.get(proxy);
+        if (players == null) return Collections.emptyList();
+
+        List<UUID> ids = new ArrayList<UUID>();
+        for (UUID id : new ArrayList<UUID>(players.keySet())) {
+            if (unlink(id, proxy) != null) ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Remove every Remote Player (without notifying listeners)
+     */
+    public void clear() {
+        removed.reset();
+        players.clear();
+        sorted.clear();
+        names.clear();
+        serverPlayers.clear();
+        proxyPlayers.clear();
+    }
+
+    private void index(UUID id, Record entry) {
+        names.put(entry.player.getName().toLowerCase(), entry.player);
+        if (entry.proxy != null) index(proxyPlayers, entry.proxy, id, entry.player);
+        if (entry.server != null) index(serverPlayers, entry.server, id, entry.player);
+    }
+
+    private void unindex(UUID id, Record entry) {
+        names.remove(entry.player.getName().toLowerCase(), entry.player);
+        if (entry.proxy != null) unindex(proxyPlayers, entry.proxy, id);
+        if (entry.server != null) unindex(serverPlayers, entry.server, id);
+    }
+
+    private static <K> void index(ConcurrentHashMap<K, ConcurrentHashMap<UUID, RemotePlayer>> index, K key, UUID id, RemotePlayer player) {
+        index.compute(key, (k, players) -> {
+            if (players == null) players = new ConcurrentHashMap<UUID, RemotePlayer>();
+            players.put(id, player);
+            return players;
+        });
+    }
+
+    private static <K> void unindex(ConcurrentHashMap<K, ConcurrentHashMap<UUID, RemotePlayer>> index, K key, UUID id) {
+        index.computeIfPresent(key, (k, players) -> {
+            players.remove(id);
+            return (players.isEmpty())?null:players;
+        });
+    }
+
+    private void publish(RemotePlayer previous, RemotePlayer current) {
+        for (Listener listener : listeners) {
+            try {
+                listener.update(previous, current);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Get a Remote Player
+     *
+     * @param id Player UUID
+     * @return Remote Player (or null if there is none)
+     */
+    public RemotePlayer get(UUID id) {
+        Record entry = (id == null)?null:players.get(id);
+        return (entry == null)?null:entry.player;
+    }
+
+    /**
+     * Get a Remote Player
+     *
+     * @param name Player name (case insensitive)
+     * @return Remote Player (or null if there is none)
+     */
+    public RemotePlayer get(String name) {
+        return (name == null)?null:names.get(name.toLowerCase());
+    }
+
+    /**
+     * Check if a Remote Player is known
+     *
+     * @param id Player UUID
+     * @return Known Status
+     */
+    public boolean contains(UUID id) {
+        return id != null && players.containsKey(id);
+    }
+
+    /**
+     * Get the amount of known Remote Players
+     *
+     * @return Player count
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Get a read-only view of the known Remote Players
+     *
+     * @return Remote Player Map
+     */
+    public Map<UUID, RemotePlayer> view() {
+        return view;
+    }
+
+    /**
+     * Get a sorted, read-only view of the known Remote Player UUIDs<br>
+     * Large downloads can be split into pages by starting after the last UUID of the previous page
+     *
+     * @return Player UUID Set
+     */
+    public NavigableSet<UUID> order() {
+        return order;
+    }
+
+    /**
+     * Get the revision of a Remote Player (changes whenever the player is linked again)
+     *
+     * @param id Player UUID
+     * @return Player Revision (or -1 if there is none)
+     * @see DeltaLog
+     */
+    public long getRevision(UUID id) {
+        Record entry = (id == null)?null:players.get(id);
+        return (entry == null)?-1:entry.revision;
+    }
+
+    /**
+     * Get the UUIDs of the Remote Players that were removed after a revision
+     *
+     * @param epoch Revision Epoch
+     * @param revision Revision
+     * @return Player UUIDs (or null if a full snapshot is required)
+     * @see DeltaLog#getRemoved(UUID, long)
+     */
+    public List<String> getRemoved(UUID epoch, long revision) {
+        return removed.getRemoved(epoch, revision);
+    }
+
+    /**
+     * Get the Proxy a player is linked to
+     *
+     * @param id Player UUID
+     * @return Proxy (or null if there is none)
+     */
+    public Proxy getProxy(UUID id) {
+        Record entry = (id == null)?null:players.get(id);
+        return (entry == null)?null:entry.proxy;
+    }
+
+    /**
+     * Get the Server a player is linked to
+     *
+     * @param id Player UUID
+     * @return Server (or null if there is none)
+     */
+    public Server getServer(UUID id) {
+        Record entry = (id == null)?null:players.get(id);
+        return (entry == null)?null:entry.server;
+    }
+
+    /**
+     * Get the players linked to a Server
+     *
+     * @param server Server
+     * @return Remote Player Collection
+     */
+    public Collection<RemotePlayer> getPlayers(Server server) {
+        ConcurrentHashMap<UUID, RemotePlayer> players = (server == null)?null:serverPlayers.get(server);
+        return (players == null)?new ArrayList<RemotePlayer>():new ArrayList<RemotePlayer>(players.values());
+    }
+
+    /**
+     * Get the players linked to a Proxy
+     *
+     * @param proxy Proxy
+     * @return Remote Player Collection
+     */
+    public Collection<RemotePlayer> getPlayers(Proxy proxy) {
+        ConcurrentHashMap<UUID, RemotePlayer> players = (proxy == null)?null:proxyPlayers.get(proxy);
+        return (players == null)?new ArrayList<RemotePlayer>():new ArrayList<RemotePlayer>(players.values());
+    }
+
+    /**
+     * Get the amount of players linked to a Server
+     *
+     * @param server Server
+     * @return Player count
+     */
+    public int count(Server server) {
+        ConcurrentHashMap<UUID, RemotePlayer> players = (server == null)?null:serverPlayers.get(server);
+        return (players == null)?0:players.size();
+    }
+
+    /**
+     * Get the amount of players linked to a Proxy
+     *
+     * @param proxy Proxy
+     * @return Player count
+     */
+    public int count(Proxy proxy) {
+        ConcurrentHashMap<UUID, RemotePlayer> players = (proxy == null)?null:proxyPlayers.get(proxy);
+        return (players == null)?0:players.size();
+    }
+
+    private final class View extends AbstractMap<UUID, RemotePlayer> {
+        private final Set<Map.Entry<UUID, RemotePlayer>> entries = new AbstractSet<Map.Entry<UUID, RemotePlayer>>() {
+            @Override
+            public Iterator<Map.Entry<UUID, RemotePlayer>> iterator() {
+                Iterator<Record> it = players.values().iterator();
+                return new Iterator<Map.Entry<UUID, RemotePlayer>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<UUID, RemotePlayer> next() {
+                        RemotePlayer player = it.next().player;
+                        return new SimpleImmutableEntry<UUID, RemotePlayer>(player.getUniqueId(), player);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return players.size();
+            }
+        };
+
+        @Override
+        public RemotePlayer get(Object key) {
+            Record entry = (key == null)?null:players.get(key);
+            return (entry == null)?null:entry.player;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && players.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return players.size();
+        }
+
+        @Override
+        public Set<Map.Entry<UUID, RemotePlayer>> entrySet() {
+            return entries;
+        }
+    }
+}
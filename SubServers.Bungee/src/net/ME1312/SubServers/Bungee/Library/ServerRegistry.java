@@ -0,0 +1,328 @@
+package net.ME1312.SubServers.Bungee.Library;
+
+import net.ME1312.Galaxi.Library.Container.NamedContainer;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubServers.Bungee.Host.Server;
+import net.ME1312.SubServers.Bungee.Host.SubServer;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+import net.md_5.bungee.api.config.ServerInfo;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live Server Registry Class
+ */
+public class ServerRegistry {
+    private final ConcurrentHashMap<String, ServerInfo> servers = new ConcurrentHashMap<String, ServerInfo>();
+    private final ConcurrentHashMap<String, Server> lowercase = new ConcurrentHashMap<String, Server>();
+    private final Map<String, ServerInfo> view = Collections.unmodifiableMap(servers);
+    private volatile NavigableMap<String, Server> sorted = null;
+    private volatile Map<String, SubServer> sortedSubServers = null;
+    private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<String, Group>();
+    private volatile Map<String, List<Server>> sortedGroups = null;
+    private volatile Map<String, List<Server>> sortedLowercaseGroups = null;
+    private final ConcurrentHashMap<InetSocketAddress, List<Server>> addresses = new ConcurrentHashMap<InetSocketAddress, List<Server>>();
+    private final DeltaLog removed = new DeltaLog(1024);
+
+    private static final class Group {
+        private final TreeMap<String, Server> servers = new TreeMap<String, Server>();
+        private final String name;
+        private volatile List<Server> list = Collections.emptyList();
+
+        private Group(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Add a Server to the Registry
+     *
+     * @param server Server
+     */
+    public void add(Server server) {
+        if (Util.isNull(server)) throw new NullPointerException();
+        synchronized (lowercase) {
+            Server previous = lowercase.put(server.getName().toLowerCase(), server);
+            if (previous != null && previous != server) {
+                servers.remove(previous.getName(), previous);
+                for (String group : previous.getGroups()) ungroup(previous, group);
+                unaddress(previous);
+                removed.log(previous.getName());
+            }
+            servers.put(server.getName(), server);
+            for (String group : server.getGroups()) group(server, group);
+            address(server);
+            invalidate();
+        }
+    }
+
+    /**
+     * Remove a Server from the Registry
+     *
+     * @param server Server
+     */
+    public void remove(Server server) {
+        if (Util.isNull(server)) throw new NullPointerException();
+        synchronized (lowercase) {
+            if (lowercase.remove(server.getName().toLowerCase(), server)) {
+                for (String group : server.getGroups()) ungroup(server, group);
+                unaddress(server);
+                removed.log(server.getName());
+                if (SmartFallback.getStatusCache() != null) SmartFallback.getStatusCache().invalidate(server);
+            }
+            servers.remove(server.getName(), server);
+            invalidate();
+        }
+    }
+
+    /**
+     * Remove all Servers from the Registry
+     */
+    public void clear() {
+        synchronized (lowercase) {
+            lowercase.clear();
+            servers.clear();
+            groups.clear();
+            addresses.clear();
+            removed.reset();
+            invalidate();
+            sortedGroups = null;
+            sortedLowercaseGroups = null;
+        }
+    }
+
+    private void invalidate() {
+        sorted = null;
+        sortedSubServers = null;
+        SmartFallback.invalidate();
+    }
+
+    /**
+     * Update the Group Index after a Server joins a Group
+     *
+     * @param server Server
+     * @param group Group name
+     */
+    public void addGroup(Server server, String group) {
+        if (Util.isNull(server, group)) throw new NullPointerException();
+        synchronized (lowercase) {
+            if (lowercase.get(server.getName().toLowerCase()) == server) group(server, group);
+        }
+    }
+
+    /**
+     * Update the Group Index after a Server leaves a Group
+     *
+     * @param server Server
+     * @param group Group name
+     */
+    public void removeGroup(Server server, String group) {
+        if (Util.isNull(server, group)) throw new NullPointerException();
+        synchronized (lowercase) {
+            if (lowercase.get(server.getName().toLowerCase()) == server) {
+                for (String other : server.getGroups()) if (other.equalsIgnoreCase(group)) return;
+                ungroup(server, group);
+            }
+        }
+    }
+
+    private void group(Server server, String name) {
+        Group group = groups.get(name.toLowerCase());
+        if (group == null) groups.put(name.toLowerCase(), group = new Group(name));
+        if (group.servers.put(server.getName().toLowerCase(), server) != server) {
+            group.list = Collections.unmodifiableList(new ArrayList<Server>(group.servers.values()));
+            sortedGroups = null;
+            sortedLowercaseGroups = null;
+        }
+    }
+
+    private void ungroup(Server server, String name) {
+        Group group = groups.get(name.toLowerCase());
+        if (group != null && group.servers.remove(server.getName().toLowerCase(), server)) {
+            if (group.servers.isEmpty()) {
+                groups.remove(name.toLowerCase(), group);
+            } else {
+                group.list = Collections.unmodifiableList(new ArrayList<Server>(group.servers.values()));
+            }
+            sortedGroups = null;
+            sortedLowercaseGroups = null;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void address(Server server) {
+        InetSocketAddress address = server.getAddress();
+        if (address != null) {
+            List<Server> list = addresses.get(address);
+            if (list == null || !list.contains(server)) {
+                List<Server> updated = (list == null)?new ArrayList<Server>():new ArrayList<Server>(list);
+                updated.add(server);
+                addresses.put(address, Collections.unmodifiableList(updated));
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void unaddress(Server server) {
+        InetSocketAddress address = server.getAddress();
+        List<Server> list = (address == null)?null:addresses.get(address);
+        if (list != null && list.contains(server)) {
+            if (list.size() > 1) {
+                List<Server> updated = new ArrayList<Server>(list);
+                updated.remove(server);
+                addresses.put(address, Collections.unmodifiableList(updated));
+            } else {
+                addresses.remove(address, list);
+            }
+        }
+    }
+
+    /**
+     * Get a Server by its exact name
+     *
+     * @param name Server name (case sensitive)
+     * @return Server (or null if there is none)
+     */
+    public ServerInfo get(String name) {
+        return (name == null)?null:servers.get(name);
+    }
+
+    /**
+     * Get a Server by its name
+     *
+     * @param name Server name (case insensitive)
+     * @return Server (or null if there is none)
+     */
+    public Server getCaseInsensitively(String name) {
+        return (name == null)?null:lowercase.get(name.toLowerCase());
+    }
+
+    /**
+     * Get the Servers using an address
+     *
+     * @param address Server address
+     * @return Server List (empty if there are none)
+     */
+    public List<Server> getByAddress(InetSocketAddress address) {
+        List<Server> list = (address == null)?null:addresses.get(address);
+        return (list == null)?Collections.emptyList():list;
+    }
+
+    /**
+     * Get the names of the Servers that were removed after a revision
+     *
+     * @param epoch Revision Epoch
+     * @param revision Revision
+     * @return Server names (or null if a full snapshot is required)
+     * @see DeltaLog#getRemoved(UUID, long)
+     */
+    public List<String> getRemoved(UUID epoch, long revision) {
+        return removed.getRemoved(epoch, revision);
+    }
+
+    /**
+     * Check if a Server name is taken
+     *
+     * @param name Server name (case insensitive)
+     * @return Taken Status
+     */
+    public boolean contains(String name) {
+        return name != null && lowercase.containsKey(name.toLowerCase());
+    }
+
+    /**
+     * Get the amount of registered Servers
+     *
+     * @return Server count
+     */
+    public int size() {
+        return lowercase.size();
+    }
+
+    /**
+     * Get a read-only view of the Registry
+     *
+     * @return Server Map (with legacy bungee case-sensitive keys)
+     */
+    public Map<String, ServerInfo> view() {
+        return view;
+    }
+
+    /**
+     * Get a sorted snapshot of the Registry (rebuilt only after the server set changes)
+     *
+     * @return Server Map (with lowercase keys, which can be used as page cursors)
+     */
+    public NavigableMap<String, Server> getServers() {
+        NavigableMap<String, Server> sorted = this.sorted;
+        if (sorted == null) synchronized (lowercase) {
+            if ((sorted = this.sorted) == null) this.sorted = sorted = Collections.unmodifiableNavigableMap(new TreeMap<String, Server>(lowercase));
+        }
+        return sorted;
+    }
+
+    /**
+     * Get a sorted snapshot of the SubServers in the Registry (rebuilt only after the server set changes)
+     *
+     * @return SubServer Map (with lowercase keys)
+     */
+    public Map<String, SubServer> getSubServers() {
+        Map<String, SubServer> sorted = this.sortedSubServers;
+        if (sorted == null) synchronized (lowercase) {
+            if ((sorted = this.sortedSubServers) == null) {
+                TreeMap<String, SubServer> servers = new TreeMap<String, SubServer>();
+                for (Map.Entry<String, Server> server : lowercase.entrySet()) if (server.getValue() instanceof SubServer)
+                    servers.put(server.getKey(), (SubServer) server.getValue());
+                this.sortedSubServers = sorted = Collections.unmodifiableMap(servers);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Get a Server Group
+     *
+     * @param name Group name (case insensitive)
+     * @return Server Group with its original name (or null if there is none)
+     */
+    public NamedContainer<String, List<Server>> getGroup(String name) {
+        Group group = (name == null)?null:groups.get(name.toLowerCase());
+        return (group == null)?null:new NamedContainer<String, List<Server>>(group.name, group.list);
+    }
+
+    /**
+     * Get a sorted snapshot of the Server Groups (rebuilt only after a group changes)
+     *
+     * @return Group Map (with case sensitive keys)
+     */
+    public Map<String, List<Server>> getGroups() {
+        Map<String, List<Server>> sorted = this.sortedGroups;
+        if (sorted == null) synchronized (lowercase) {
+            if ((sorted = this.sortedGroups) == null) {
+                TreeMap<String, List<Server>> groups = new TreeMap<String, List<Server>>();
+                for (Group group : this.groups.values()) groups.put(group.name, group.list);
+                this.sortedGroups = sorted = Collections.unmodifiableMap(groups);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Get a sorted snapshot of the Server Groups (rebuilt only after a group changes)
+     *
+     * @return Group Map (with lowercase keys)
+     */
+    public Map<String, List<Server>> getLowercaseGroups() {
+        Map<String, List<Server>> sorted = this.sortedLowercaseGroups;
+        if (sorted == null) synchronized (lowercase) {
+            if ((sorted = this.sortedLowercaseGroups) == null) {
+                TreeMap<String, List<Server>> groups = new TreeMap<String, List<Server>>();
+                for (Map.Entry<String, Group> group : this.groups.entrySet()) groups.put(group.getKey(), group.getValue().list);
+                this.sortedLowercaseGroups = sorted = Collections.unmodifiableMap(groups);
+            }
+        }
+        return sorted;
+    }
+}
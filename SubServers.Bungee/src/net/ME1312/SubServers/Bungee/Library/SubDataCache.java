@@ -0,0 +1,111 @@
+package net.ME1312.SubServers.Bungee.Library;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SubData Serialization Cache Class<br>
+ * Keeps the last serialized form of an object until it is invalidated, or the state it was built with changes
+ */
+public class SubDataCache {
+    private static final AtomicLong hits = new AtomicLong(0);
+    private static final AtomicLong misses = new AtomicLong(0);
+    private volatile Value value = null;
+    private long invalidations = 0;
+
+    private static final class Value {
+        private final long revision;
+        private final Object state;
+        private final ObjectMap<String> data;
+
+        private Value(long revision, Object state, ObjectMap<String> data) {
+            this.revision = revision;
+            this.state = state;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Get the serialized data, serializing it again if it is outdated
+     *
+     * @param state Volatile state the data depends on (compared with equals(), may be null)
+     * @param serializer Serializer
+     * @return Serialized data (shared between calls, do not modify)
+     */
+    public ObjectMap<String> get(Object state, Supplier<ObjectMap<String>> serializer) {
+        Value value = this.value;
+        if (value != null && Objects.equals(value.state, state)) {
+            hits.incrementAndGet();
+            return value.data;
+        }
+        misses.incrementAndGet();
+
+        long invalidations;
+        synchronized (this) {
+            invalidations = this.invalidations;
+        }
+        ObjectMap<String> data = serializer.get();
+        synchronized (this) {
+            // Don't keep data that may have been serialized from before an invalidation
+            if (invalidations == this.invalidations) {
+                try {
+                    this.value = new Value(DeltaLog.acquire(), state, data);
+                } finally {
+                    DeltaLog.release();
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Get the revision of the cached data (changes whenever the data is serialized again)
+     *
+     * @return Data Revision
+     * @see DeltaLog
+     */
+    public long getRevision() {
+        Value value = this.value;
+        return (value == null)?DeltaLog.nextRevision():value.revision;
+    }
+
+    /**
+     * Mark the cached data as outdated
+     */
+    public synchronized void invalidate() {
+        ++invalidations;
+        value = null;
+    }
+
+    /**
+     * Get how many requests were served from cache
+     *
+     * @return Cache Hits
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get how many requests had to be serialized again
+     *
+     * @return Cache Misses
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the portion of requests that were served from cache
+     *
+     * @return Hit Rate (from 0.0 to 1.0)
+     */
+    public static double getHitRate() {
+        long hits = SubDataCache.hits.get();
+        long total = hits + misses.get();
+        return (total == 0)?0:(double) hits / total;
+    }
+}
@@ -1,5 +1,6 @@
 package net.ME1312.SubServers.Bungee.Network.Packet;
 
+import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.SubServers.Bungee.Host.Server;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
@@ -56,14 +57,23 @@ public class PacketDownloadGroupInfo implements PacketObjectIn<Integer>, PacketO
         if (tracker != null) data.set(0x0000, tracker);
 
         ObjectMap<String> groups = new ObjectMap<String>();
-        for (Map.Entry<String, List<Server>> group : plugin.api.getGroups().entrySet()) {
-            if (this.groups == null || this.groups.length <= 0 || Arrays.binarySearch(this.groups, group.getKey().toLowerCase()) >= 0) {
+        if (this.groups == null || this.groups.length <= 0) {
+            for (Map.Entry<String, List<Server>> group : plugin.api.getGroups().entrySet()) {
                 ObjectMap<String> servers = new ObjectMap<String>();
                 for (Server server : group.getValue()) {
                     servers.set(server.getName(), server.forSubData());
                 }
                 groups.set(group.getKey(), servers);
             }
+        } else for (String name : this.groups) {
+            NamedContainer<String, List<Server>> group = plugin.registry.getGroup(name);
+            if (group != null) {
+                ObjectMap<String> servers = new ObjectMap<String>();
+                for (Server server : group.get()) {
+                    servers.set(server.getName(), server.forSubData());
+                }
+                groups.set(group.name(), servers);
+            }
         }
         data.set(0x0001, groups);
         return data;
@@ -6,6 +6,7 @@ import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
+import net.ME1312.SubServers.Bungee.Library.DeltaLog;
 import net.ME1312.SubServers.Bungee.SubProxy;
 
 import java.util.Arrays;
@@ -18,6 +19,8 @@ import java.util.UUID;
 public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
     private SubProxy plugin;
     private String[] hosts;
+    private UUID epoch;
+    private Long revision;
     private UUID tracker;
 
     /**
@@ -38,8 +41,23 @@ public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketOb
      * @param tracker Receiver ID
      */
     public PacketDownloadHostInfo(SubProxy plugin, List<String> hosts, UUID tracker) {
+        this(plugin, hosts, null, null, tracker);
+    }
+
+    /**
+     * New PacketDownloadHostInfo (Out)
+     *
+     * @param plugin SubPlugin
+     * @param hosts Hosts (or null for all)
+     * @param epoch Revision Epoch the receiver knows about (or null for a full snapshot)
+     * @param revision Revision the receiver knows about (or null for a full snapshot)
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadHostInfo(SubProxy plugin, List<String> hosts, UUID epoch, Long revision, UUID tracker) {
         if (Util.isNull(plugin)) throw new NullPointerException();
         this.plugin = plugin;
+        this.epoch = epoch;
+        this.revision = revision;
         this.tracker = tracker;
 
         if (hosts != null) {
@@ -55,18 +73,24 @@ public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketOb
         if (tracker != null) data.set(0x0000, tracker);
 
         ObjectMap<String> hosts = new ObjectMap<String>();
+        long revision = DeltaLog.getRevision();
+        List<String> removed = ((this.hosts == null || this.hosts.length <= 0) && this.revision != null)?plugin.removedHosts.getRemoved(epoch, this.revision):null;
         for (Host host : plugin.api.getHosts().values()) {
             if (this.hosts == null || this.hosts.length <= 0 || Arrays.binarySearch(this.hosts, host.getName().toLowerCase()) >= 0) {
-                hosts.set(host.getName(), host.forSubData());
+                if (removed == null || host.getRevision() > this.revision)
+                    hosts.set(host.getName(), host.forSubData());
             }
         }
         data.set(0x0001, hosts);
+        data.set(0x0002, revision);
+        data.set(0x0003, DeltaLog.getEpoch());
+        if (removed != null) data.set(0x0004, removed);
         return data;
     }
 
     @Override
     public void receive(SubDataClient client, ObjectMap<Integer> data) {
-        client.sendPacket(new PacketDownloadHostInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
+        client.sendPacket(new PacketDownloadHostInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0004))?data.getUUID(0x0004):null, (data.contains(0x0003))?data.getLong(0x0003):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
     }
 
     @Override
@@ -6,10 +6,12 @@ import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
 import net.ME1312.SubServers.Bungee.Host.RemotePlayer;
+import net.ME1312.SubServers.Bungee.Library.DeltaLog;
 import net.ME1312.SubServers.Bungee.SubProxy;
 
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.UUID;
 
 /**
@@ -19,6 +21,10 @@ public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, Packet
     private SubProxy plugin;
     private String[] names;
     private UUID[] ids;
+    private UUID epoch;
+    private Long revision;
+    private UUID cursor;
+    private Integer size;
     private UUID tracker;
 
     /**
@@ -40,8 +46,43 @@ public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, Packet
      * @param tracker Receiver ID
      */
     public PacketDownloadPlayerInfo(SubProxy plugin, List<String> names, List<UUID> ids, UUID tracker) {
+        this(plugin, names, ids, null, null, tracker);
+    }
+
+    /**
+     * New PacketDownloadPlayerInfo (Out)
+     *
+     * @param plugin SubPlugin
+     * @param names Player names (or null for all)
+     * @param ids Player IDs (or null for all)
+     * @param epoch Revision Epoch the receiver knows about (or null for a full snapshot)
+     * @param revision Revision the receiver knows about (or null for a full snapshot)
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadPlayerInfo(SubProxy plugin, List<String> names, List<UUID> ids, UUID epoch, Long revision, UUID tracker) {
+        this(plugin, names, ids, epoch, revision, null, null, tracker);
+    }
+
+    /**
+     * New PacketDownloadPlayerInfo (Out)
+     *
+     * @param plugin SubPlugin
+     * @param names Player names (or null for all)
+     * @param ids Player IDs (or null for all)
+     * @param epoch Revision Epoch the receiver knows about (or null for a full snapshot)
+     * @param revision Revision the receiver knows about (or null for a full snapshot)
+     * @param cursor ID of the last Player on the previous page (or null to start from the beginning)
+     * @param size Page size (or null to send everything at once)
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadPlayerInfo(SubProxy plugin, List<String> names, List<UUID> ids, UUID epoch, Long revision, UUID cursor, Integer size, UUID tracker) {
         if (Util.isNull(plugin)) throw new NullPointerException();
+        if (size != null && size <= 0) throw new IllegalArgumentException("Page size must be greater than zero");
         this.plugin = plugin;
+        this.epoch = epoch;
+        this.revision = revision;
+        this.cursor = cursor;
+        this.size = size;
         this.tracker = tracker;
 
         if (ids != null) {
@@ -60,27 +101,49 @@ public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, Packet
         if (tracker != null) data.set(0x0000, tracker);
 
         ObjectMap<String> players = new ObjectMap<String>();
-        if (ids == null && names == null) {
-            for (RemotePlayer player : plugin.api.getGlobalPlayers().values()) {
-                players.set(player.getUniqueId().toString(), player.forSubData());
+        long revision = DeltaLog.getRevision();
+        List<String> removed = null;
+        UUID next = null;
+        if (ids == null && names == null && size != null) {
+            NavigableSet<UUID> order = plugin.rPlayers.order();
+            Iterator<UUID> it = ((cursor == null)?order:order.tailSet(cursor, false)).iterator();
+            UUID last = null;
+            int count = 0;
+            while (it.hasNext() && count < size) {
+                RemotePlayer player = plugin.rPlayers.get(last = it.next());
+                if (player != null) {
+                    players.set(player.getUniqueId().toString(), player.forSubData());
+                    ++count;
+                }
+            }
+            if (it.hasNext()) next = last;
+        } else if (ids == null && names == null) {
+            if (this.revision != null) removed = plugin.rPlayers.getRemoved(epoch, this.revision);
+            for (RemotePlayer player : plugin.rPlayers.view().values()) {
+                if (removed == null || plugin.rPlayers.getRevision(player.getUniqueId()) > this.revision)
+                    players.set(player.getUniqueId().toString(), player.forSubData());
             }
         } else {
             if (ids != null) for (UUID id : ids) {
-                RemotePlayer player = plugin.api.getGlobalPlayer(id);
+                RemotePlayer player = plugin.rPlayers.get(id);
                 if (player != null) players.set(player.getUniqueId().toString(), player.forSubData());
             }
             if (names != null) for (String name : names) {
-                RemotePlayer player = plugin.api.getGlobalPlayer(name);
+                RemotePlayer player = plugin.rPlayers.get(name);
                 if (player != null) players.set(player.getUniqueId().toString(), player.forSubData());
             }
         }
         data.set(0x0001, players);
+        data.set(0x0002, revision);
+        data.set(0x0003, DeltaLog.getEpoch());
+        if (removed != null) data.set(0x0004, removed);
+        if (next != null) data.set(0x0005, next);
         return data;
     }
 
     @Override
     public void receive(SubDataClient client, ObjectMap<Integer> data) {
-        client.sendPacket(new PacketDownloadPlayerInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0002))?data.getUUIDList(0x0002):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
+        client.sendPacket(new PacketDownloadPlayerInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0002))?data.getUUIDList(0x0002):null, (data.contains(0x0004))?data.getUUID(0x0004):null, (data.contains(0x0003))?data.getLong(0x0003):null, (data.contains(0x0005))?data.getUUID(0x0005):null, (data.contains(0x0006))?data.getInt(0x0006):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
     }
 
     @Override
@@ -2,15 +2,15 @@ package net.ME1312.SubServers.Bungee.Network.Packet;
 
 import net.ME1312.SubData.Server.SubDataClient;
 import net.ME1312.SubServers.Bungee.Host.Server;
+import net.ME1312.SubServers.Bungee.Host.ServerImpl;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
+import net.ME1312.SubServers.Bungee.Library.DeltaLog;
 import net.ME1312.SubServers.Bungee.SubProxy;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Download Server Info Packet
@@ -18,6 +18,10 @@ import java.util.UUID;
 public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
     private SubProxy plugin;
     private String[] servers;
+    private UUID epoch;
+    private Long revision;
+    private String cursor;
+    private Integer size;
     private UUID tracker;
 
     /**
@@ -38,8 +42,41 @@ public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, Packet
      * @param tracker Receiver ID
      */
     public PacketDownloadServerInfo(SubProxy plugin, List<String> servers, UUID tracker) {
+        this(plugin, servers, null, null, tracker);
+    }
+
+    /**
+     * New PacketDownloadServerInfo (Out)
+     *
+     * @param plugin SubPlugin
+     * @param servers Servers (or null for all)
+     * @param epoch Revision Epoch the receiver knows about (or null for a full snapshot)
+     * @param revision Revision the receiver knows about (or null for a full snapshot)
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadServerInfo(SubProxy plugin, List<String> servers, UUID epoch, Long revision, UUID tracker) {
+        this(plugin, servers, epoch, revision, null, null, tracker);
+    }
+
+    /**
+     * New PacketDownloadServerInfo (Out)
+     *
+     * @param plugin SubPlugin
+     * @param servers Servers (or null for all)
+     * @param epoch Revision Epoch the receiver knows about (or null for a full snapshot)
+     * @param revision Revision the receiver knows about (or null for a full snapshot)
+     * @param cursor Name of the last Server on the previous page (or null to start from the beginning)
+     * @param size Page size (or null to send everything at once)
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadServerInfo(SubProxy plugin, List<String> servers, UUID epoch, Long revision, String cursor, Integer size, UUID tracker) {
         if (Util.isNull(plugin)) throw new NullPointerException();
+        if (size != null && size <= 0) throw new IllegalArgumentException("Page size must be greater than zero");
         this.plugin = plugin;
+        this.epoch = epoch;
+        this.revision = revision;
+        this.cursor = (cursor == null)?null:cursor.toLowerCase();
+        this.size = size;
         this.tracker = tracker;
 
         if (servers != null) {
@@ -55,18 +92,33 @@ public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, Packet
         if (tracker != null) data.set(0x0000, tracker);
 
         ObjectMap<String> servers = new ObjectMap<String>();
-        for (Server server : plugin.api.getServers().values()) {
-            if (this.servers == null || this.servers.length <= 0 || Arrays.binarySearch(this.servers, server.getName().toLowerCase()) >= 0) {
-                servers.set(server.getName(), server.forSubData());
+        long revision = DeltaLog.getRevision();
+        List<String> removed = ((this.servers == null || this.servers.length <= 0) && this.revision != null && size == null)?plugin.registry.getRemoved(epoch, this.revision):null;
+        NavigableMap<String, Server> all = plugin.registry.getServers();
+        Iterator<Map.Entry<String, Server>> it = ((cursor == null)?all:all.tailMap(cursor, false)).entrySet().iterator();
+        String last = null;
+        int count = 0;
+        while (it.hasNext() && (size == null || count < size)) {
+            Map.Entry<String, Server> entry = it.next();
+            Server server = entry.getValue();
+            if (this.servers == null || this.servers.length <= 0 || Arrays.binarySearch(this.servers, entry.getKey()) >= 0) {
+                if (removed == null || !(server instanceof ServerImpl) || ((ServerImpl) server).getRevision() > this.revision)
+                    servers.set(server.getName(), server.forSubData());
+                ++count;
             }
+            last = entry.getKey();
         }
         data.set(0x0001, servers);
+        data.set(0x0002, revision);
+        data.set(0x0003, DeltaLog.getEpoch());
+        if (removed != null) data.set(0x0004, removed);
+        if (size != null && it.hasNext()) data.set(0x0005, last);
         return data;
     }
 
     @Override
     public void receive(SubDataClient client, ObjectMap<Integer> data) {
-        client.sendPacket(new PacketDownloadServerInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
+        client.sendPacket(new PacketDownloadServerInfo(plugin, (data.contains(0x0001))?data.getRawStringList(0x0001):null, (data.contains(0x0004))?data.getUUID(0x0004):null, (data.contains(0x0003))?data.getLong(0x0003):null, (data.contains(0x0005))?data.getRawString(0x0005):null, (data.contains(0x0006))?data.getInt(0x0006):null, (data.contains(0x0000))?data.getUUID(0x0000):null));
     }
 
     @Override
@@ -0,0 +1,73 @@
+package net.ME1312.SubServers.Bungee.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Server.SubDataClient;
+import net.ME1312.SubServers.Bungee.Host.SubLogBuffer;
+import net.ME1312.SubServers.Bungee.Host.SubServer;
+import net.ME1312.SubServers.Bungee.SubProxy;
+
+import java.util.LinkedList;
+import java.util.UUID;
+
+/**
+ * Download Server Log Packet
+ */
+public class PacketDownloadServerLog implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private SubProxy plugin;
+    private String server;
+    private int lines;
+    private UUID tracker;
+
+    /**
+     * New PacketDownloadServerLog (In)
+     *
+     * @param plugin SubPlugin
+     */
+    public PacketDownloadServerLog(SubProxy plugin) {
+        if (Util.isNull(plugin)) throw new NullPointerException();
+        this.plugin = plugin;
+    }
+
+    /**
+     * New PacketDownloadServerLog (Out)
+     *
+     * @param plugin SubPlugin
+     * @param server Server
+     * @param lines Amount of lines
+     * @param tracker Receiver ID
+     */
+    public PacketDownloadServerLog(SubProxy plugin, String server, int lines, UUID tracker) {
+        if (Util.isNull(plugin, server)) throw new NullPointerException();
+        this.plugin = plugin;
+        this.server = server;
+        this.lines = lines;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataClient client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        if (tracker != null) data.set(0x0000, tracker);
+
+        SubServer server = plugin.api.getSubServer(this.server);
+        if (server != null) {
+            LinkedList<ObjectMap<String>> entries = new LinkedList<ObjectMap<String>>();
+            for (SubLogBuffer.Entry entry : server.getLogger().getScrollback().getEntries(lines)) entries.add(entry.forSubData());
+            data.set(0x0001, entries);
+        }
+        return data;
+    }
+
+    @Override
+    public void receive(SubDataClient client, ObjectMap<Integer> data) {
+        client.sendPacket(new PacketDownloadServerLog(plugin, data.getRawString(0x0001), (data.contains(0x0002))?data.getInt(0x0002):Integer.MAX_VALUE, (data.contains(0x0000))?data.getUUID(0x0000):null));
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
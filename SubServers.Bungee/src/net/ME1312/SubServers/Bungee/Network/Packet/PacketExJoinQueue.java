@@ -0,0 +1,85 @@
+package net.ME1312.SubServers.Bungee.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Server.SubDataClient;
+import net.ME1312.SubServers.Bungee.Host.Proxy;
+import net.ME1312.SubServers.Bungee.Library.Fallback.JoinQueue;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * External Join Queue Packet
+ */
+public class PacketExJoinQueue implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private UUID player;
+    private Map<UUID, Integer> positions;
+
+    /**
+     * New PacketExJoinQueue (In)
+     */
+    public PacketExJoinQueue() {}
+
+    /**
+     * New PacketExJoinQueue (Out)
+     *
+     * @param player Player to release
+     */
+    public PacketExJoinQueue(UUID player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        this.player = player;
+    }
+
+    /**
+     * New PacketExJoinQueue (Out)
+     *
+     * @param positions Player Positions
+     */
+    public PacketExJoinQueue(Map<UUID, Integer> positions) {
+        if (Util.isNull(positions)) throw new NullPointerException();
+        this.positions = positions;
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataClient client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        if (player != null) {
+            data.set(0x0000, 2);
+            data.set(0x0001, player);
+        } else {
+            HashMap<String, Integer> positions = new HashMap<String, Integer>();
+            for (Map.Entry<UUID, Integer> position : this.positions.entrySet()) positions.put(position.getKey().toString(), position.getValue());
+            data.set(0x0000, 3);
+            data.set(0x0002, positions);
+        }
+        return data;
+    }
+
+    @Override
+    public void receive(SubDataClient client, ObjectMap<Integer> data) {
+        JoinQueue queue = SmartFallback.getJoinQueue();
+        if (queue != null && client.getHandler() instanceof Proxy) {
+            switch (data.getInt(0x0000)) {
+                case 0: // Join
+                    queue.enqueue(data.getUUID(0x0001), (Proxy) client.getHandler());
+                    break;
+                case 1: // Leave
+                    queue.leave(data.getUUID(0x0001));
+                    break;
+                case 4: // Requeue
+                    queue.requeue(data.getUUID(0x0001));
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
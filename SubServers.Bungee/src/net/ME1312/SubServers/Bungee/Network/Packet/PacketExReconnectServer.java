@@ -0,0 +1,59 @@
+package net.ME1312.SubServers.Bungee.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Server.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Server.SubDataClient;
+import net.ME1312.SubServers.Bungee.Host.Proxy;
+import net.ME1312.SubServers.Bungee.Library.Fallback.ReconnectStore;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+
+import java.util.UUID;
+
+/**
+ * External Reconnect Server Packet
+ */
+public class PacketExReconnectServer implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private String server;
+    private UUID tracker;
+
+    /**
+     * New PacketExReconnectServer (In)
+     */
+    public PacketExReconnectServer() {}
+
+    /**
+     * New PacketExReconnectServer (Out)
+     *
+     * @param server Last Server (or null if there isn't one)
+     * @param tracker Receiver ID
+     */
+    public PacketExReconnectServer(String server, UUID tracker) {
+        this.server = server;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataClient client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        if (tracker != null) data.set(0x0000, tracker);
+        if (server != null) data.set(0x0001, server);
+        return data;
+    }
+
+    @Override
+    public void receive(SubDataClient client, ObjectMap<Integer> data) {
+        ReconnectStore store = SmartFallback.getReconnectStore();
+        UUID player = data.getUUID(0x0001);
+        if (data.contains(0x0000)) {
+            client.sendPacket(new PacketExReconnectServer(SmartFallback.getReconnectServer(player, (data.contains(0x0003))?data.getRawString(0x0003):null), data.getUUID(0x0000)));
+        } else if (store != null && client.getHandler() instanceof Proxy) {
+            store.set(player, (data.contains(0x0002))?data.getRawString(0x0002):null);
+        }
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
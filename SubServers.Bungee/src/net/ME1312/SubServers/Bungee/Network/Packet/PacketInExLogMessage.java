@@ -1,20 +1,36 @@
 package net.ME1312.SubServers.Bungee.Network.Packet;
 
+import net.ME1312.Galaxi.Library.Callback.Callback;
 import net.ME1312.SubData.Server.SubDataClient;
-import net.ME1312.SubServers.Bungee.Host.External.ExternalSubLogger;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
-import net.ME1312.Galaxi.Library.Version.Version;
 import net.ME1312.SubData.Server.Protocol.PacketObjectIn;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Message Log External Host Packet
  */
 public class PacketInExLogMessage implements PacketObjectIn<Integer> {
-    private static HashMap<UUID, ExternalSubLogger> loggers = new HashMap<UUID, ExternalSubLogger>();
+    private static ConcurrentHashMap<UUID, Receiver> loggers = new ConcurrentHashMap<UUID, Receiver>();
+
+    private static final class Receiver {
+        private final Callback<String> logger;
+        private long sequence = 0;
+
+        private Receiver(Callback<String> logger) {
+            this.logger = logger;
+        }
+
+        private synchronized void receive(long sequence, List<String> lines) {
+            // Lines we've already seen are skipped, and lines that never arrived are simply stepped over
+            int skip = (int) Math.max(0, Math.min(lines.size(), this.sequence - sequence));
+            for (int i = skip; i < lines.size(); ++i) logger.run(lines.get(i));
+            this.sequence = Math.max(this.sequence, sequence + lines.size());
+        }
+    }
 
     /**
      * New PacketInExLogMessage (Registerer)
@@ -23,9 +39,12 @@ public class PacketInExLogMessage implements PacketObjectIn<Integer> {
 
     @Override
     public void receive(SubDataClient client, ObjectMap<Integer> data) {
-        try {
-            if (data.contains(0x0000) && data.contains(0x0001) && loggers.keySet().contains(data.getUUID(0x0000))) {
-                Util.reflect(ExternalSubLogger.class.getDeclaredMethod("log", String.class), loggers.get(data.getUUID(0x0000)), data.getRawString(0x0001));
+        Receiver receiver = (data.contains(0x0000))?loggers.get(data.getUUID(0x0000)):null;
+        if (receiver != null) try {
+            if (data.contains(0x0003)) {
+                receiver.receive(data.getLong(0x0002), data.getRawStringList(0x0003));
+            } else if (data.contains(0x0001)) {
+                receiver.logger.run(data.getRawString(0x0001));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -43,9 +62,10 @@ public class PacketInExLogMessage implements PacketObjectIn<Integer> {
      * @param logger Logger
      * @return External Address
      */
-    public static UUID register(ExternalSubLogger logger) {
+    public static UUID register(Callback<String> logger) {
+        if (Util.isNull(logger)) throw new NullPointerException();
         UUID id = Util.getNew(loggers.keySet(), UUID::randomUUID);
-        loggers.put(id, logger);
+        loggers.put(id, new Receiver(logger));
         return id;
     }
 
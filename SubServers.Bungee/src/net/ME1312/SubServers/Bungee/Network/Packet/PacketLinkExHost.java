@@ -12,6 +12,7 @@ import net.ME1312.SubServers.Bungee.Library.Compatibility.Logger;
 import net.ME1312.SubServers.Bungee.SubProxy;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static net.ME1312.SubServers.Bungee.Network.Packet.PacketLinkServer.req;
 import static net.ME1312.SubServers.Bungee.Network.Packet.PacketLinkServer.last;
@@ -85,13 +86,13 @@ public class PacketLinkExHost implements InitialPacket, PacketObjectIn<Integer>,
 
     private void queue(String name, Runnable action) {
         final long now = Calendar.getInstance().getTime().getTime();
-        new Timer("SubServers.Bungee::ExHost_Linker(" + name + ")").schedule(new TimerTask() {
-            @Override
-            public void run() {
+        plugin.timer.schedule(() -> {
+            try {
                 action.run();
+            } finally {
                 --req;
             }
-        }, (now - last < 500) ? (req * 500) : 0);
+        }, (now - last < 500) ? (req * 500) : 0, TimeUnit.MILLISECONDS);
 
         ++req;
         last = now;
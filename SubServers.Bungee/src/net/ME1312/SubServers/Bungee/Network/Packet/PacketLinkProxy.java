@@ -93,13 +93,13 @@ public class PacketLinkProxy implements InitialPacket, PacketObjectIn<Integer>,
 
     private void queue(String name, Runnable action) {
         final long now = Calendar.getInstance().getTime().getTime();
-        new Timer("SubServers.Bungee::Proxy_Linker(" + name + ")").schedule(new TimerTask() {
-            @Override
-            public void run() {
+        plugin.timer.schedule(() -> {
+            try {
                 action.run();
+            } finally {
                 --req;
             }
-        }, (now - last < 500) ? (req * 500) : 0);
+        }, (now - last < 500) ? (req * 500) : 0, TimeUnit.MILLISECONDS);
 
         ++req;
         last = now;
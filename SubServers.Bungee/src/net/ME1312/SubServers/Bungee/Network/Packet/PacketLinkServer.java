@@ -75,10 +75,9 @@ public class PacketLinkServer implements InitialPacket, PacketObjectIn<Integer>,
         Integer channel = data.getInt(0x0002);
 
         try {
-            Map<String, Server> servers = plugin.api.getServers();
             Server server;
-            if (name != null && servers.keySet().contains(name.toLowerCase())) {
-                link(client, servers.get(name.toLowerCase()), channel);
+            if (name != null && (server = plugin.registry.getCaseInsensitively(name)) != null) {
+                link(client, server, channel);
             } else if (port != null) {
                 if ((server = search(new InetSocketAddress(client.getAddress().getAddress(), port))) != null) {
                     link(client, server, channel);
@@ -108,32 +107,30 @@ public class PacketLinkServer implements InitialPacket, PacketObjectIn<Integer>,
             server.setSubData(client, channel);
             Logger.get("SubData").info(client.getAddress().toString() + " has been defined as " + ((server instanceof SubServer) ? "SubServer" : "Server") + ": " + server.getName() + ((channel > 0)?" (Sub-"+channel+")":""));
             Runnable register = () -> {
-                if (server instanceof SubServer && !((SubServer) server).isRunning()) {
-                    if (((SubServer) server).getHost().isAvailable()) {
-                        Logger.get("SubServers").info("Sending shutdown signal to rogue SubServer: " + server.getName());
-                        client.sendPacket(new PacketOutExReset("Rogue SubServer Detected"));
+                try {
+                    if (server instanceof SubServer && !((SubServer) server).isRunning()) {
+                        if (((SubServer) server).getHost().isAvailable()) {
+                            Logger.get("SubServers").info("Sending shutdown signal to rogue SubServer: " + server.getName());
+                            client.sendPacket(new PacketOutExReset("Rogue SubServer Detected"));
+                        } else {
+                            // Drop connection if host is unavailable for rogue checking (try again later)
+                            Util.isException(() -> Util.reflect(SubDataClient.class.getDeclaredMethod("close", DisconnectReason.class), client, DisconnectReason.CLOSE_REQUESTED));
+                        }
                     } else {
-                        // Drop connection if host is unavailable for rogue checking (try again later)
-                        Util.isException(() -> Util.reflect(SubDataClient.class.getDeclaredMethod("close", DisconnectReason.class), client, DisconnectReason.CLOSE_REQUESTED));
+                        if (server instanceof SubServer && !Util.getDespiteException(() -> Util.reflect(SubServerImpl.class.getDeclaredField("started"), server), true)) {
+                            Util.isException(() -> Util.reflect(SubServerImpl.class.getDeclaredField("started"), server, true));
+                            SubStartedEvent event = new SubStartedEvent((SubServer) server);
+                            ProxyServer.getInstance().getPluginManager().callEvent(event);
+                        }
+                        client.sendPacket(new PacketLinkServer(server.getName(), 0, null));
                     }
-                } else {
-                    if (server instanceof SubServer && !Util.getDespiteException(() -> Util.reflect(SubServerImpl.class.getDeclaredField("started"), server), true)) {
-                        Util.isException(() -> Util.reflect(SubServerImpl.class.getDeclaredField("started"), server, true));
-                        SubStartedEvent event = new SubStartedEvent((SubServer) server);
-                        ProxyServer.getInstance().getPluginManager().callEvent(event);
-                    }
-                    client.sendPacket(new PacketLinkServer(server.getName(), 0, null));
+                } finally {
+                    --req;
                 }
-                --req;
             };
 
             final long now = Calendar.getInstance().getTime().getTime();
-            new Timer("SubServers.Bungee::Server_Linker(" + server.getName() + ")").schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    register.run();
-                }
-            }, ((server instanceof SubServer && !((SubServer) server).isRunning()) ? TimeUnit.SECONDS.toMillis(5) : 0) + ((now - last < 500) ? (req * 500) : 0));
+            plugin.timer.schedule(register, ((server instanceof SubServer && !((SubServer) server).isRunning()) ? TimeUnit.SECONDS.toMillis(5) : 0) + ((now - last < 500) ? (req * 500) : 0), TimeUnit.MILLISECONDS);
 
             ++req;
             last = now;
@@ -144,14 +141,9 @@ public class PacketLinkServer implements InitialPacket, PacketObjectIn<Integer>,
     }
 
     private Server search(InetSocketAddress address) throws ServerLinkException {
-        Server server = null;
-        for (Server s : plugin.api.getServers().values()) {
-            if (s.getAddress().equals(address)) {
-                if (server != null) throw new ServerLinkException("Multiple servers match address: " + address.getAddress().getHostAddress() + ':' + address.getPort());
-                server = s;
-            }
-        }
-        return server;
+        List<Server> servers = plugin.registry.getByAddress(address);
+        if (servers.size() > 1) throw new ServerLinkException("Multiple servers match address: " + address.getAddress().getHostAddress() + ':' + address.getPort());
+        return (servers.isEmpty())?null:servers.get(0);
     }
 
     @Override
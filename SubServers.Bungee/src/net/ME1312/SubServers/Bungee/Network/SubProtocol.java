@@ -50,6 +50,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, PacketDownloadPlayerInfo.class);
         registerPacket(0x0017, PacketCheckPermission.class);
         registerPacket(0x0018, PacketCheckPermissionResponse.class);
+        registerPacket(0x0019, PacketDownloadServerLog.class);
 
         registerPacket(0x0010, new PacketDownloadLang(plugin));
         registerPacket(0x0011, new PacketDownloadPlatformInfo(plugin));
@@ -60,6 +61,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, new PacketDownloadPlayerInfo(plugin));
         registerPacket(0x0017, new PacketCheckPermission());
         registerPacket(0x0018, new PacketCheckPermissionResponse());
+        registerPacket(0x0019, new PacketDownloadServerLog(plugin));
 
 
      // 30-4F: Control Packets
@@ -125,6 +127,8 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0073, PacketOutExUpdateWhitelist.class);
         registerPacket(0x0074, PacketExSyncPlayer.class);
         registerPacket(0x0076, PacketExDisconnectPlayer.class);
+        registerPacket(0x0077, PacketExJoinQueue.class);
+        registerPacket(0x0078, PacketExReconnectServer.class);
 
       //registerPacket(0x0070, new PacketOutRunEvent());
       //registerPacket(0x0071, new PacketOutReset());
@@ -132,6 +136,8 @@ public class SubProtocol extends SubDataProtocol {
       //registerPacket(0x0073, new PacketOutExUpdateWhitelist());
         registerPacket(0x0074, new PacketExSyncPlayer(plugin));
         registerPacket(0x0076, new PacketExDisconnectPlayer());
+        registerPacket(0x0077, new PacketExJoinQueue());
+        registerPacket(0x0078, new PacketExReconnectServer());
     }
 
     @SuppressWarnings("deprecation")
@@ -253,7 +253,8 @@ public final class SubAPI {
         SubAddHostEvent event = new SubAddHostEvent(player, host);
         plugin.getPluginManager().callEvent(event);
         if (!event.isCancelled()) {
-            plugin.hosts.put(host.getName().toLowerCase(), host);
+            Host previous = plugin.hosts.put(host.getName().toLowerCase(), host);
+            if (previous != null && previous != host) plugin.removedHosts.log(previous.getName());
             return true;
         } else {
             return false;
@@ -283,7 +284,8 @@ public final class SubAPI {
         plugin.getPluginManager().callEvent(event);
         if (event.isCancelled()) {
             if (getHost(name).destroy()) {
-                plugin.hosts.remove(name.toLowerCase());
+                Host host = plugin.hosts.remove(name.toLowerCase());
+                if (host != null) plugin.removedHosts.log(host.getName());
                 return true;
             } else {
                 return false;
@@ -313,7 +315,8 @@ public final class SubAPI {
         SubRemoveHostEvent event = new SubRemoveHostEvent(player, getHost(name));
         plugin.getPluginManager().callEvent(event);
         if (getHost(name).destroy()) {
-            plugin.hosts.remove(name.toLowerCase());
+            Host host = plugin.hosts.remove(name.toLowerCase());
+            if (host != null) plugin.removedHosts.log(host.getName());
             return true;
         } else {
             return false;
@@ -323,39 +326,19 @@ public final class SubAPI {
     /**
      * Gets the Server Groups (Group names are case sensitive here)
      *
-     * @return Group Map
+     * @return Group Map (read-only)
      */
     public Map<String, List<Server>> getGroups() {
-        TreeMap<String, List<Server>> groups = new TreeMap<String, List<Server>>();
-        HashMap<String, String> conflitresolver = new HashMap<String, String>();
-        for (Server server : getServers().values()) {
-            for (String name : server.getGroups()) {
-                String group = name;
-                if (conflitresolver.keySet().contains(name.toLowerCase())) {
-                    group = conflitresolver.get(name.toLowerCase());
-                } else {
-                    conflitresolver.put(name.toLowerCase(), name);
-                }
-                List<Server> list = (groups.keySet().contains(group))?groups.get(group):new ArrayList<Server>();
-                list.add(server);
-                groups.put(group, list);
-            }
-        }
-        return groups;
+        return plugin.registry.getGroups();
     }
 
     /**
      * Gets the Server Groups (Group names are all lowercase here)
      *
-     * @return Group Map
+     * @return Group Map (read-only)
      */
     public Map<String, List<Server>> getLowercaseGroups() {
-        Map<String, List<Server>> groups = getGroups();
-        TreeMap<String, List<Server>> lowercaseGroups = new TreeMap<String, List<Server>>();
-        for (String key : groups.keySet()) {
-            lowercaseGroups.put(key.toLowerCase(), groups.get(key));
-        }
-        return lowercaseGroups;
+        return plugin.registry.getLowercaseGroups();
     }
 
     /**
@@ -366,24 +349,17 @@ public final class SubAPI {
      */
     public NamedContainer<String, List<Server>> getGroup(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        for (Map.Entry<String, List<Server>> group : getLowercaseGroups().entrySet()) {
-            if (group.getKey().equalsIgnoreCase(name)) return new NamedContainer<>(group.getKey(), group.getValue());
-        }
-        return null;
+        NamedContainer<String, List<Server>> group = plugin.registry.getGroup(name);
+        return (group == null)?null:new NamedContainer<>(group.name().toLowerCase(), group.get());
     }
 
     /**
      * Gets the Servers (including SubServers)
      *
-     * @return Server Map
+     * @return Server Map (read-only)
      */
     public Map<String, Server> getServers() {
-        TreeMap<String, Server> servers = new TreeMap<String, Server>();
-        servers.putAll(plugin.exServers);
-        for (Host host : plugin.hosts.values()) {
-            servers.putAll(host.getSubServers());
-        }
-        return servers;
+        return plugin.registry.getServers();
     }
 
     /**
@@ -394,7 +370,7 @@ public final class SubAPI {
      */
     public Server getServer(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        return getServers().get(name.toLowerCase());
+        return plugin.registry.getCaseInsensitively(name);
     }
 
     /**
@@ -425,12 +401,13 @@ public final class SubAPI {
      * @return The Server
      */
     public Server addServer(UUID player, String name, InetAddress ip, int port, String motd, boolean hidden, boolean restricted) {
-        if (getServers().keySet().contains(name.toLowerCase())) throw new InvalidServerException("A Server already exists with this name!");
+        if (plugin.registry.contains(name)) throw new InvalidServerException("A Server already exists with this name!");
         Server server = ServerImpl.construct(name, new InetSocketAddress(ip, port), motd, hidden, restricted);
         SubAddServerEvent event = new SubAddServerEvent(player, null, server);
         plugin.getPluginManager().callEvent(event);
         if (!event.isCancelled()) {
             plugin.exServers.put(name.toLowerCase(), server);
+            plugin.registry.add(server);
             return server;
         } else {
             return null;
@@ -459,7 +436,8 @@ public final class SubAPI {
         SubRemoveServerEvent event = new SubRemoveServerEvent(player, null, getServer(name));
         plugin.getPluginManager().callEvent(event);
         if (event.isCancelled()) {
-            plugin.exServers.remove(name.toLowerCase());
+            Server server = plugin.exServers.remove(name.toLowerCase());
+            if (server != null) plugin.registry.remove(server);
             return true;
         } else return false;
     }
@@ -485,21 +463,18 @@ public final class SubAPI {
         if (Util.isNull(name, getServer(name))) throw new NullPointerException();
         SubRemoveServerEvent event = new SubRemoveServerEvent(player, null, getServer(name));
         plugin.getPluginManager().callEvent(event);
-        plugin.exServers.remove(name.toLowerCase());
+        Server server = plugin.exServers.remove(name.toLowerCase());
+        if (server != null) plugin.registry.remove(server);
         return true;
     }
 
     /**
      * Gets the SubServers
      *
-     * @return SubServer Map
+     * @return SubServer Map (read-only)
      */
     public Map<String, SubServer> getSubServers() {
-        TreeMap<String, SubServer> servers = new TreeMap<String, SubServer>();
-        for (Host host : plugin.hosts.values()) {
-            servers.putAll(host.getSubServers());
-        }
-        return servers;
+        return plugin.registry.getSubServers();
     }
 
     /**
@@ -510,7 +485,8 @@ public final class SubAPI {
      */
     public SubServer getSubServer(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        return getSubServers().get(name.toLowerCase());
+        Server server = plugin.registry.getCaseInsensitively(name);
+        return (server instanceof SubServer)?(SubServer) server:null;
     }
 
     /**
@@ -547,10 +523,10 @@ public final class SubAPI {
     /**
      * Get players on this network across all known proxies
      *
-     * @return Remote Player Collection
+     * @return Remote Player Collection (read-only)
      */
     public Map<UUID, RemotePlayer> getGlobalPlayers() {
-        return new HashMap<UUID, RemotePlayer>(plugin.rPlayers);
+        return plugin.rPlayers.view();
     }
 
     /**
@@ -561,10 +537,7 @@ public final class SubAPI {
      */
     public RemotePlayer getGlobalPlayer(String name) {
         if (Util.isNull(name)) throw new NullPointerException();
-        for (RemotePlayer player : getGlobalPlayers().values()) {
-            if (player.getName().equalsIgnoreCase(name)) return player;
-        }
-        return null;
+        return plugin.rPlayers.get(name);
     }
 
     /**
@@ -575,7 +548,7 @@ public final class SubAPI {
      */
     public RemotePlayer getGlobalPlayer(UUID id) {
         if (Util.isNull(id)) throw new NullPointerException();
-        return getGlobalPlayers().getOrDefault(id, null);
+        return plugin.rPlayers.get(id);
     }
 
     /**
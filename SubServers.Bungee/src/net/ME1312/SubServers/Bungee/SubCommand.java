@@ -14,6 +14,11 @@ import net.ME1312.Galaxi.Library.Version.Version;
 import net.ME1312.SubData.Server.ClientHandler;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.Galaxi.GalaxiInfo;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.Logger;
+import net.ME1312.SubServers.Bungee.Library.Fallback.FallbackInspector;
+import net.ME1312.SubServers.Bungee.Library.Fallback.FallbackLimbo;
+import net.ME1312.SubServers.Bungee.Library.Fallback.InspectorStats;
+import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+import net.ME1312.SubServers.Bungee.Library.SubDataCache;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketCheckPermission;
 import net.md_5.bungee.BungeeCord;
 import net.md_5.bungee.api.ChatColor;
@@ -95,6 +100,8 @@ public final class SubCommand extends CommandX {
                     sender.sendMessage("  " + plugin.getBungeeName() + ((plugin.isGalaxi)?" v":" ") + ((bungee != null)?bungee:plugin.getVersion()) + ((bungeebuild != null)?" (" + bungeebuild + ')':"") + ((plugin.isPatched)?" [Patched]":"") + ',');
                     sender.sendMessage("  SubServers.Bungee v" + SubProxy.version.toExtendedString() + ((plugin.api.getWrapperBuild() != null)?" (" + plugin.api.getWrapperBuild() + ')':""));
                     sender.sendMessage("");
+                    sender.sendMessage("SubServers > SubData Cache: " + SubDataCache.getHits() + " hits, " + SubDataCache.getMisses() + " misses (" + (Math.round(SubDataCache.getHitRate() * 1000) / 10D) + "% hit rate)");
+                    sender.sendMessage("");
                     new Thread(() -> {
                         try {
                             ObjectMap<String> tags = new ObjectMap<String>(new Gson().fromJson("{\"tags\":" + Util.readAll(new BufferedReader(new InputStreamReader(new URL("https://api.github.com/repos/ME1312/SubServers-2/git/refs/tags").openStream(), Charset.forName("UTF-8")))) + '}', Map.class));
@@ -299,7 +306,7 @@ public final class SubCommand extends CommandX {
                                 if (server instanceof SubServer) sender.sendMessage(" -> " + ((((SubServer) server).isOnline())?"Online":"Running") + ": " + ((((SubServer) server).isRunning())?ChatColor.GREEN+"yes":ChatColor.RED+"no"));
                                 if (!(server instanceof SubServer) || ((SubServer) server).isRunning()) {
                                     sender.sendMessage(" -> Connected: " + ((server.getSubData()[0] != null)?ChatColor.GREEN+"yes"+((server.getSubData().length > 1)?ChatColor.AQUA+" +"+(server.getSubData().length-1)+" subchannel"+((server.getSubData().length == 2)?"":"s"):""):ChatColor.RED+"no"));
-                                    sender.sendMessage(" -> Players: " + ChatColor.AQUA + server.getGlobalPlayers().size() + " online");
+                                    sender.sendMessage(" -> Players: " + ChatColor.AQUA + server.getGlobalPlayerCount() + " online");
                                 }
                                 sender.sendMessage(" -> MOTD: " + ChatColor.WHITE + ChatColor.stripColor(server.getMotd()));
                                 if (server instanceof SubServer && ((SubServer) server).getStopAction() != SubServer.StopAction.NONE) sender.sendMessage(" -> Stop Action: " + ChatColor.WHITE + ((SubServer) server).getStopAction().toString());
@@ -662,6 +669,23 @@ public final class SubCommand extends CommandX {
                             if (success > 0) sender.sendMessage("SubServers > Removing " + success + " subserver"+((success == 1)?"":"s"));
                         }
                     }
+                } else if (args[0].equalsIgnoreCase("fallback")) {
+                    FallbackLimbo limbo = plugin.fallbackLimbo;
+                    sender.sendMessage("SubServers > Fallback Statistics:");
+                    sender.sendMessage("  In Limbo: " + limbo.size() + ", Attempts: " + limbo.getAttempts() + ", Successes: " + limbo.getSuccesses() + ", Disconnects: " + limbo.getDisconnects());
+
+                    Map<FallbackInspector, InspectorStats> stats = SmartFallback.getStatistics();
+                    if (stats.isEmpty()) {
+                        sender.sendMessage("SubServers > There are no fallback inspectors registered");
+                    } else {
+                        sender.sendMessage("SubServers > Fallback Inspector Statistics:");
+                        for (Map.Entry<FallbackInspector, InspectorStats> inspector : stats.entrySet()) {
+                            InspectorStats stat = inspector.getValue();
+                            sender.sendMessage("  " + inspector.getKey().getClass().getName() + ':');
+                            sender.sendMessage("    Calls: " + stat.getCalls() + ", Errors: " + stat.getErrors() + ", Timeouts: " + stat.getTimeouts());
+                            sender.sendMessage("    Average: " + printLatency(stat.getAverage()) + ", 50%: <=" + printLatency(stat.getPercentile(0.5)) + ", 99%: <=" + printLatency(stat.getPercentile(0.99)));
+                        }
+                    }
                 } else if (args[0].equalsIgnoreCase("restore")) {
                     // TODO
                 } else {
@@ -821,6 +845,16 @@ public final class SubCommand extends CommandX {
         }
     }
 
+    private static String printLatency(long nanos) {
+        if (nanos < 0) {
+            return "n/a";
+        } else if (nanos == Long.MAX_VALUE) {
+            return "1000+ms";
+        } else {
+            return (Math.round(nanos / 1000D) / 1000D) + "ms";
+        }
+    }
+
     private String[] printHelp() {
         return new String[]{
                 "SubServers > Console Command Help:",
@@ -838,6 +872,7 @@ public final class SubCommand extends CommandX {
                 "   Create Server: /sub create <Name> <Host> <Template> [Version] [Port]",
                 "   Update Server: /sub update <Subservers> [[Template] <Version>]",
                 "   Remove Server: /sub delete <Subservers>",
+                "   Fallback Statistics: /sub fallback",
               //"   Restore Server: /sub restore <Subservers>",
                 "",
                 "   To see BungeeCord supplied commands, please visit:",
@@ -881,7 +916,7 @@ public final class SubCommand extends CommandX {
         } else if (args.length <= 1) {
             List<String> cmds = new ArrayList<>();
             cmds.addAll(Arrays.asList("help", "list", "info", "status", "version", "start", "restart", "stop", "kill", "terminate", "cmd", "command", "create", "update", "upgrade"));
-            if (!(sender instanceof ProxiedPlayer)) cmds.addAll(Arrays.asList("reload", "sudo", "screen", "remove", "delete", "restore"));
+            if (!(sender instanceof ProxiedPlayer)) cmds.addAll(Arrays.asList("reload", "sudo", "screen", "remove", "delete", "restore", "fallback"));
             List<String> list = new ArrayList<String>();
             for (String cmd : cmds) {
                 if (cmd.startsWith(last)) list.add(Last + cmd.substring(last.length()));
@@ -1185,7 +1220,7 @@ public final class SubCommand extends CommandX {
                             if (i != 0) serverm.addExtra(div);
                             TextComponent message = new TextComponent(plugin.api.getLang("SubServers", "Bungee.Server.List").replace("$str$", server.getDisplayName()));
                             try {
-                                message.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new TextComponent[]{new TextComponent(plugin.api.getLang("SubServers", "Bungee.Server.Hover").replace("$int$", Integer.toString(server.getGlobalPlayers().size())))}));
+                                message.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new TextComponent[]{new TextComponent(plugin.api.getLang("SubServers", "Bungee.Server.Hover").replace("$int$", Integer.toString(server.getGlobalPlayerCount())))}));
                             } catch (Exception e) {
                                 e.printStackTrace();
                             }
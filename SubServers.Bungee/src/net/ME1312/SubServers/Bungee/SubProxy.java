@@ -3,7 +3,6 @@ package net.ME1312.SubServers.Bungee;
 import com.dosse.upnp.UPnP;
 import com.google.common.collect.Range;
 import com.google.gson.Gson;
-import net.ME1312.Galaxi.Library.Container.PrimitiveContainer;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.UniversalFile;
 import net.ME1312.Galaxi.Library.Util;
@@ -20,7 +19,10 @@ import net.ME1312.Galaxi.Library.Config.YAMLSection;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.Galaxi.GalaxiCommand;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.LegacyServerMap;
 import net.ME1312.SubServers.Bungee.Library.Compatibility.Logger;
+import net.ME1312.SubServers.Bungee.Library.Fallback.FallbackLimbo;
+import net.ME1312.SubServers.Bungee.Library.Fallback.JoinQueue;
 import net.ME1312.SubServers.Bungee.Library.Fallback.SmartFallback;
+import net.ME1312.SubServers.Bungee.Library.Fallback.StatusCache;
 import net.ME1312.SubServers.Bungee.Library.ConfigUpdater;
 import net.ME1312.SubServers.Bungee.Library.Exception.InvalidHostException;
 import net.ME1312.SubServers.Bungee.Library.Exception.InvalidServerException;
@@ -30,9 +32,9 @@ import net.ME1312.SubServers.Bungee.Network.Packet.PacketExDisconnectPlayer;
 import net.ME1312.SubServers.Bungee.Network.Packet.PacketOutExReload;
 import net.ME1312.SubServers.Bungee.Network.SubProtocol;
 import net.md_5.bungee.BungeeCord;
-import net.md_5.bungee.BungeeServerInfo;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.ServerPing;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -40,6 +42,8 @@ import net.md_5.bungee.api.config.ListenerInfo;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.event.*;
 import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.plugin.PluginDescription;
 import net.md_5.bungee.connection.InitialHandler;
 import net.md_5.bungee.event.EventHandler;
 
@@ -54,7 +58,14 @@ import java.nio.file.Files;
 import java.security.SecureRandom;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 /**
  * Main Plugin Class
@@ -64,12 +75,12 @@ public final class SubProxy extends BungeeCord implements Listener {
     final HashMap<String, Class<? extends Host>> hostDrivers = new HashMap<String, Class<? extends Host>>();
     public final HashMap<String, Proxy> proxies = new HashMap<String, Proxy>();
     public final HashMap<String, Host> hosts = new HashMap<String, Host>();
+    public final DeltaLog removedHosts = new DeltaLog(1024);
     public final HashMap<String, Server> exServers = new HashMap<String, Server>();
+    public final ServerRegistry registry = new ServerRegistry();
+    private final LegacyServerMap legacy = new LegacyServerMap(registry.view());
     private final HashMap<String, ServerInfo> legServers = new HashMap<String, ServerInfo>();
-    public final HashMap<UUID, Server> rPlayerLinkS = new HashMap<UUID, Server>();
-    public final HashMap<UUID, Proxy> rPlayerLinkP = new HashMap<UUID, Proxy>();
-    public final HashMap<UUID, RemotePlayer> rPlayers = new HashMap<UUID, RemotePlayer>();
-    private final HashMap<UUID, List<ServerInfo>> fallbackLimbo = new HashMap<UUID, List<ServerInfo>>();
+    public final PlayerRegistry rPlayers = new PlayerRegistry();
 
     public final PrintStream out;
     public final UniversalFile dir = new UniversalFile(new File(System.getProperty("user.dir")));
@@ -83,6 +94,9 @@ public final class SubProxy extends BungeeCord implements Listener {
     public SubServer sudo = null;
     public static final Version version = Version.fromString("2.16.2a");
 
+    public final Plugin plugin;
+    public final ScheduledExecutorService timer;
+    public final FallbackLimbo fallbackLimbo;
     public final Proxy mProxy;
     public boolean canSudo = false;
     public final boolean isPatched;
@@ -96,6 +110,9 @@ public final class SubProxy extends BungeeCord implements Listener {
     @SuppressWarnings("unchecked")
     SubProxy(PrintStream out, boolean isPatched) throws Exception {
         this.isPatched = isPatched;
+        this.plugin = plugin();
+        this.timer = timer();
+        this.fallbackLimbo = new FallbackLimbo(timer);
         this.isGalaxi = !Util.isException(() ->
                 Util.reflect(Class.forName("net.ME1312.Galaxi.Engine.PluginManager").getMethod("findClasses", Class.class),
                         Util.reflect(Class.forName("net.ME1312.Galaxi.Engine.GalaxiEngine").getMethod("getPluginManager"),
@@ -103,6 +120,7 @@ public final class SubProxy extends BungeeCord implements Listener {
 
         Util.reflect(Logger.class.getDeclaredField("plugin"), null, this);
         Logger.get("SubServers").info("Loading SubServers.Bungee v" + version.toString() + " Libraries (for Minecraft " + api.getGameVersion()[api.getGameVersion().length - 1] + ")");
+        if (plugin == null) Logger.get("SubServers").warning("Could not create a stand-in plugin for this version of BungeeCord. Server list passthrough will answer without waiting for a status to come in.");
 
         this.out = out;
         if (!(new UniversalFile(dir, "config.yml").exists())) {
@@ -229,6 +247,18 @@ public final class SubProxy extends BungeeCord implements Listener {
         }, TimeUnit.DAYS.toMillis(7), TimeUnit.DAYS.toMillis(7));
 
         mProxy = new Proxy("(master)");
+        rPlayers.addListener((previous, current) -> {
+            for (RemotePlayer player : new RemotePlayer[]{ previous, current }) if (player != null) {
+                if (player.getServer() instanceof ServerImpl) ((ServerImpl) player.getServer()).invalidateCache();
+                if (player.getProxy() != null) player.getProxy().invalidateCache();
+            }
+        });
+        rPlayers.addListener((previous, current) -> {
+            RemotePlayer player = (current != null)?current:previous;
+            if (player.getProxy() == mProxy) for (Proxy proxy : api.getProxies().values()) if (proxy.getSubData()[0] != null) {
+                ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketExSyncPlayer(mProxy.getName(), current != null, player));
+            }
+        });
 
         api.addHostDriver(net.ME1312.SubServers.Bungee.Host.Internal.InternalHost.class, "virtual");
         api.addHostDriver(net.ME1312.SubServers.Bungee.Host.External.ExternalHost.class, "network");
@@ -416,7 +446,7 @@ public final class SubProxy extends BungeeCord implements Listener {
             if (!ukeys.contains(name.toLowerCase())) try {
                 if (!this.hosts.keySet().contains(this.servers.get().getMap("Servers").getMap(name).getString("Host").toLowerCase())) throw new InvalidServerException("There is no host with this name: " + this.servers.get().getMap("Servers").getMap(name).getString("Host"));
                 if (exServers.keySet().contains(name.toLowerCase())) {
-                    exServers.remove(name.toLowerCase());
+                    registry.remove(exServers.remove(name.toLowerCase()));
                     servers--;
                 }
                 SubServer server = api.getSubServer(name);
@@ -497,6 +527,9 @@ public final class SubProxy extends BungeeCord implements Listener {
                         for (String group : this.servers.get().getMap("Servers").getMap(name).getStringList("Group")) server.addGroup(group);
                     }
                 } // Apply these changes regardless of edit/reset
+                server.getLogger().getScrollback().setCapacity(Math.max(0, this.servers.get().getMap("Servers").getMap(name).getInt("Scrollback", SubLogBuffer.DEFAULT_CAPACITY)));
+                ObjectMap<String> flood = this.servers.get().getMap("Servers").getMap(name).getMap("Flood-Protection", new ObjectMap<String>());
+                server.getLogger().getThrottle().setPolicy(Math.max(0, flood.getInt("Rate", LogThrottle.DEFAULT_RATE)), Math.max(0, flood.getInt("Burst", LogThrottle.DEFAULT_BURST)), Math.max(0, flood.getInt("Sample", LogThrottle.DEFAULT_SAMPLE)), flood.getBoolean("Collapse", true));
                 if (this.servers.get().getMap("Servers").getMap(name).getKeys().contains("Extra")) for (String extra : this.servers.get().getMap("Servers").getMap(name).getMap("Extra").getKeys()) server.addExtra(extra, this.servers.get().getMap("Servers").getMap(name).getMap("Extra").getObject(extra));
                 ukeys.add(name.toLowerCase());
                 subservers++;
@@ -504,6 +537,10 @@ public final class SubProxy extends BungeeCord implements Listener {
                 e.printStackTrace();
             }
         }
+        // Pick up any SubServers from host drivers that don't keep the registry up to date themselves
+        for (Host host : this.hosts.values()) for (SubServer server : host.getSubServers().values()) if (registry.get(server.getName()) != server) registry.add(server);
+        for (SubServer server : registry.getSubServers().values()) if (server.getHost().getSubServer(server.getName()) != server) registry.remove(server);
+
         for (String name : ukeys) {
             SubServer server = api.getSubServer(name);
             for (String oname : this.servers.get().getMap("Servers").getMap(server.getName()).getRawStringList("Incompatible", new ArrayList<>())) {
@@ -713,7 +750,9 @@ public final class SubProxy extends BungeeCord implements Listener {
         }
         running = false;
         this.hosts.clear();
+        removedHosts.reset();
         exServers.clear();
+        registry.clear();
 
         for (String proxy : proxies.keySet()) {
             getPluginManager().callEvent(new SubRemoveProxyEvent(proxies.get(proxy)));
@@ -724,8 +763,6 @@ public final class SubProxy extends BungeeCord implements Listener {
             if (UPnP.isUPnPAvailable() && UPnP.isMappedTCP(listener.getHost().getPort())) UPnP.closePortTCP(listener.getHost().getPort());
         }
 
-        rPlayerLinkS.clear();
-        rPlayerLinkP.clear();
         rPlayers.clear();
     }
 
@@ -770,7 +807,7 @@ public final class SubProxy extends BungeeCord implements Listener {
      */
     @Override
     public Map<String, ServerInfo> getServers() {
-        return new LegacyServerMap(getServersCopy());
+        return (!api.ready)?new LegacyServerMap(getServersCopy()):legacy;
     }
 
     /**
@@ -784,10 +821,7 @@ public final class SubProxy extends BungeeCord implements Listener {
             servers.putAll(super.getServers());
             servers.putAll(legServers);
         } else {
-            for (ServerInfo server : exServers.values()) servers.put(server.getName(), server);
-            for (Host host : this.hosts.values()) {
-                for (ServerInfo server : host.getSubServers().values()) servers.put(server.getName(), server);
-            }
+            servers.putAll(registry.view());
         }
         return servers;
     }
@@ -799,7 +833,53 @@ public final class SubProxy extends BungeeCord implements Listener {
      */
     @Override
     public ServerInfo getServerInfo(String name) {
-        return getServersCopy().get(name);
+        return (!api.ready)?getServersCopy().get(name):registry.get(name);
+    }
+
+    /**
+     * Create a stand-in Plugin for SubServers<br>
+     * This depends on BungeeCord's no-arg Plugin constructor and its private <code>Plugin.init(ProxyServer, PluginDescription)</code> method.
+     * Without it, server list pings can't be held open, so passthrough answers without waiting for a status to come in.
+     *
+     * @return Stand-in Plugin (or null if it couldn't be created)
+     */
+    private Plugin plugin() {
+        PluginDescription description = new PluginDescription();
+        description.setName("SubServers.Bungee");
+        description.setVersion(version.toString());
+        description.setAuthor("ME1312");
+
+        // Async events can only be held open on behalf of a plugin, so we make a stand-in for ourselves
+        return Util.getDespiteException(() -> {
+            Plugin instance = new Plugin();
+            Util.reflect(Plugin.class.getDeclaredMethod("init", ProxyServer.class, PluginDescription.class), instance, this, description);
+            return instance;
+        }, null);
+    }
+
+    private ScheduledExecutorService timer() {
+        // One set of timer threads for everything that has to wait, rather than a new Timer each time
+        AtomicInteger threads = new AtomicInteger(0);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "SubServers.Bungee::Timer(" + threads.incrementAndGet() + ')');
+            thread.setDaemon(true);
+            return thread;
+        }) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable error) {
+                // Scheduled tasks hold on to their exceptions, so we have to dig them out to see them
+                if (error == null && task instanceof Future<?> && ((Future<?>) task).isDone()) {
+                    try {
+                        ((Future<?>) task).get();
+                    } catch (ExecutionException e) {
+                        error = e.getCause();
+                    } catch (CancellationException | InterruptedException e) {}
+                }
+                if (error != null) getLogger().log(Level.SEVERE, "Unhandled exception in " + Thread.currentThread().getName(), error);
+            }
+        };
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
     }
 
     @EventHandler(priority = Byte.MIN_VALUE)
@@ -808,17 +888,19 @@ public final class SubProxy extends BungeeCord implements Listener {
         ServerInfo override;
         if ((dynamic = SmartFallback.getForcedHost(e.getConnection()) == null) && getReconnectHandler() instanceof SmartFallback && (override = SmartFallback.getDNS(e.getConnection())) != null) {
             if (!(override instanceof SubServer) || ((SubServer) override).isRunning()) {
+                StatusCache.Status status;
                 if (!e.getConnection().getListener().isPingPassthrough()) {
                     e.setResponse(new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(override.getMotd()), null));
+                } else if ((status = SmartFallback.getStatusCache().get(override, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion())) != null || plugin == null) {
+                    // Answer from the last known status (which may be refreshing in the background)
+                    e.setResponse(passthrough(e, override, status));
                 } else {
-                    PrimitiveContainer<Boolean> lock = new PrimitiveContainer<>(true);
-                    ((BungeeServerInfo) override).ping((ping, error) -> {
-                        if (error != null) {
-                            e.setResponse(new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(getTranslation("ping_cannot_connect")), null));
-                        } else e.setResponse(ping);
-                        lock.value = false;
-                    }, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion());
-                    while (lock.value) Util.isException(() -> Thread.sleep(4));
+                    // Hold the event open until the first status of this server comes in
+                    e.registerIntent(plugin);
+                    SmartFallback.getStatusCache().get(override, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion(), result -> {
+                        e.setResponse(passthrough(e, override, result));
+                        e.completeIntent(plugin);
+                    });
                 }
             }
         } else if (dynamic) {
@@ -826,6 +908,19 @@ public final class SubProxy extends BungeeCord implements Listener {
         }
     }
 
+    private ServerPing passthrough(ProxyPingEvent e, ServerInfo server, StatusCache.Status status) {
+        if (status == null) {
+            return new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(server.getMotd()), null);
+        } else if (!status.isOnline()) {
+            return new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(getTranslation("ping_cannot_connect")), null);
+        } else {
+            // Copy the cached response, as other listeners may still change it
+            ServerPing ping = status.getPing();
+            ServerPing.Players players = (ping.getPlayers() == null)?null:new ServerPing.Players(ping.getPlayers().getMax(), ping.getPlayers().getOnline(), ping.getPlayers().getSample());
+            return new ServerPing(ping.getVersion(), players, ping.getDescriptionComponent(), ping.getFaviconObject());
+        }
+    }
+
     @EventHandler(priority = Byte.MAX_VALUE)
     public void ping(ProxyPingEvent e) {
         ServerInfo override;
@@ -835,10 +930,16 @@ public final class SubProxy extends BungeeCord implements Listener {
             }
         } else {
             int offline = 0;
+            StatusCache cache = SmartFallback.getStatusCache();
             for (String name : e.getConnection().getListener().getServerPriority()) {
                 ServerInfo server = api.getServer(name.toLowerCase());
                 if (server == null) server = getServerInfo(name);
-                if (server == null || (server instanceof SubServer && !((SubServer) server).isRunning())) offline++;
+                if (server == null || (server instanceof SubServer && !((SubServer) server).isRunning())) {
+                    offline++;
+                } else if (!(server instanceof SubServer) && cache != null) {
+                    StatusCache.Status status = cache.get(server);
+                    if (status != null && !status.isOnline()) offline++;
+                }
             }
 
             if (offline >= e.getConnection().getListener().getServerPriority().size()) {
@@ -849,9 +950,9 @@ public final class SubProxy extends BungeeCord implements Listener {
 
     @EventHandler(priority = Byte.MIN_VALUE)
     public void login(LoginEvent e) {
-        if (rPlayers.containsKey(e.getConnection().getUniqueId())) {
+        RemotePlayer player = rPlayers.get(e.getConnection().getUniqueId());
+        if (player != null) {
             Logger.get("SubServers").info(e.getConnection().getName() + " connected, but already had a database entry");
-            RemotePlayer player = rPlayers.get(e.getConnection().getUniqueId());
             if (player.getProxy() == null || player.getProxy().isMaster()) {
                 getPlayer(player.getUniqueId()).disconnect(new TextComponent(getTranslation("already_connected_proxy")));
             } else if (player.getProxy().getSubData()[0] != null) {
@@ -862,19 +963,13 @@ public final class SubProxy extends BungeeCord implements Listener {
 
     @EventHandler(priority = Byte.MAX_VALUE)
     public void validate(ServerConnectEvent e) {
-        Map<String, ServerInfo> servers = new TreeMap<String, ServerInfo>(api.getServers());
-        if (servers.keySet().contains(e.getTarget().getName().toLowerCase()) && e.getTarget() != servers.get(e.getTarget().getName().toLowerCase())) {
-            e.setTarget(servers.get(e.getTarget().getName().toLowerCase()));
-        } else {
-            servers = getServersCopy();
-            if (servers.keySet().contains(e.getTarget().getName()) && e.getTarget() != servers.get(e.getTarget().getName())) {
-                e.setTarget(servers.get(e.getTarget().getName()));
-            }
-        }
+        ServerInfo target = registry.getCaseInsensitively(e.getTarget().getName());
+        if (target == null || target == e.getTarget()) target = getServerInfo(e.getTarget().getName());
+        if (target != null && target != e.getTarget()) e.setTarget(target);
 
         if (!e.getTarget().canAccess(e.getPlayer())) {
-            if (e.getPlayer().getServer() == null || fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-                if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId()) || fallbackLimbo.get(e.getPlayer().getUniqueId()).contains(e.getTarget())) {
+            if (e.getPlayer().getServer() == null || fallbackLimbo.contains(e.getPlayer().getUniqueId())) {
+                if (!fallbackLimbo.contains(e.getPlayer().getUniqueId()) || fallbackLimbo.isCandidate(e.getPlayer().getUniqueId(), e.getTarget())) {
                     ServerKickEvent kick = new ServerKickEvent(e.getPlayer(), e.getTarget(), new BaseComponent[]{
                             new TextComponent(getTranslation("no_server_permission"))
                     }, null, ServerKickEvent.State.CONNECTING);
@@ -886,62 +981,41 @@ public final class SubProxy extends BungeeCord implements Listener {
                 e.getPlayer().sendMessage(getTranslation("no_server_permission"));
                 e.setCancelled(true);
             }
-        } else if (e.getPlayer().getServer() != null && !fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId()) && e.getTarget() instanceof SubServer && !((SubServer) e.getTarget()).isRunning()) {
+        } else if (e.getPlayer().getServer() != null && !fallbackLimbo.contains(e.getPlayer().getUniqueId()) && e.getTarget() instanceof SubServer && !((SubServer) e.getTarget()).isRunning()) {
             e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Server.Offline"));
             e.setCancelled(true);
         }
 
-        if (fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-            if (fallbackLimbo.get(e.getPlayer().getUniqueId()).contains(e.getTarget())) {
-                fallbackLimbo.get(e.getPlayer().getUniqueId()).remove(e.getTarget());
-            } else if (e.getPlayer().getServer() != null) {
-                e.setCancelled(true);
-            }
+        if (fallbackLimbo.contains(e.getPlayer().getUniqueId()) && !fallbackLimbo.take(e.getPlayer().getUniqueId(), e.getTarget()) && e.getPlayer().getServer() != null) {
+            e.setCancelled(true);
         }
     }
 
     @SuppressWarnings("deprecation")
     @EventHandler(priority = Byte.MAX_VALUE)
     public void connected(ServerConnectedEvent e) {
-        synchronized (rPlayers) {
-            RemotePlayer player = new RemotePlayer(e.getPlayer().getName(), e.getPlayer().getUniqueId(), mProxy, (e.getServer().getInfo() instanceof Server)?(Server) e.getServer().getInfo():null, e.getPlayer().getAddress());
-            rPlayerLinkP.put(player.getUniqueId(), player.getProxy());
-            rPlayers.put(player.getUniqueId(), player);
-            if (player.getServer() != null) rPlayerLinkS.put(player.getUniqueId(), player.getServer());
-            for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null) {
-                ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketExSyncPlayer(mProxy.getName(), true, player));
-            }
-        }
+        rPlayers.link(new RemotePlayer(e.getPlayer().getName(), e.getPlayer().getUniqueId(), mProxy, (e.getServer().getInfo() instanceof Server)?(Server) e.getServer().getInfo():null, e.getPlayer().getAddress()));
 
 
-        if (fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) new Timer("SubServers.Bungee::Fallback_Limbo_Timer(" + e.getPlayer().getUniqueId() + ')').schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (e.getPlayer().getServer() != null && !((UserConnection) e.getPlayer()).isDimensionChange() && e.getPlayer().getServer().getInfo().getAddress().equals(e.getServer().getInfo().getAddress())) {
-                    fallbackLimbo.remove(e.getPlayer().getUniqueId());
-                    e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback.Result").replace("$str$", (e.getServer().getInfo() instanceof Server)?((Server) e.getServer().getInfo()).getDisplayName():e.getServer().getInfo().getName()));
-                }
-            }
-        }, 1000);
+        JoinQueue queue = SmartFallback.getJoinQueue();
+        if (queue != null && queue.isHeld(e.getPlayer().getUniqueId()) && !e.getServer().getInfo().equals(queue.getLimbo())) queue.remove(e.getPlayer().getUniqueId());
+
+        fallbackLimbo.connected(e.getPlayer(), e.getServer().getInfo(), () -> e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback.Result").replace("$str$", (e.getServer().getInfo() instanceof Server)?((Server) e.getServer().getInfo()).getDisplayName():e.getServer().getInfo().getName())));
     }
 
     @SuppressWarnings("deprecation")
     @EventHandler(priority = Byte.MAX_VALUE)
     public void fallback(ServerKickEvent e) {
         if (e.getPlayer() instanceof UserConnection && config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>()).getBoolean("Fallback", true)) {
-            Map<String, ServerInfo> fallbacks;
-            if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-                fallbacks = SmartFallback.getFallbackServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer());
-            } else {
-                fallbacks = new LinkedHashMap<String, ServerInfo>();
-                for (ServerInfo server : fallbackLimbo.get(e.getPlayer().getUniqueId())) fallbacks.put(server.getName(), server);
-            }
+            JoinQueue queue = SmartFallback.getJoinQueue();
+            Map<String, ServerInfo> candidates = fallbackLimbo.getCandidates(e.getPlayer().getUniqueId());
+            Map<String, ServerInfo> fallbacks = (candidates != null)?candidates:(queue == null)?SmartFallback.getFallbackServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer()):queue.getAvailableServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer());
 
             fallbacks.remove(e.getKickedFrom().getName());
             if (!fallbacks.isEmpty()) {
                 e.setCancelled(true);
                 e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback").replace("$str$", (e.getKickedFrom() instanceof Server)?((Server) e.getKickedFrom()).getDisplayName():e.getKickedFrom().getName()).replace("$msg$", e.getKickReason()));
-                if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) fallbackLimbo.put(e.getPlayer().getUniqueId(), new LinkedList<>(fallbacks.values()));
+                fallbackLimbo.attempt(e.getPlayer().getUniqueId(), fallbacks.values());
 
                 ServerInfo next = new LinkedList<Map.Entry<String, ServerInfo>>(fallbacks.entrySet()).getFirst().getValue();
                 e.setCancelServer(next);
@@ -949,25 +1023,36 @@ public final class SubProxy extends BungeeCord implements Listener {
                     ((UserConnection) e.getPlayer()).setServerJoinQueue(new LinkedList<>(fallbacks.keySet()));
                     ((UserConnection) e.getPlayer()).connect(next, null, true);
                 }
+            } else if (queue != null && !e.getKickedFrom().equals(queue.getLimbo())) {
+                // Wait in line for a server to free up
+                ServerInfo limbo = queue.hold(e.getPlayer());
+                if (limbo != null) {
+                    e.setCancelled(true);
+                    e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback").replace("$str$", (e.getKickedFrom() instanceof Server)?((Server) e.getKickedFrom()).getDisplayName():e.getKickedFrom().getName()).replace("$msg$", e.getKickReason()));
+                    e.setCancelServer(limbo);
+                }
             }
         }
     }
 
     @EventHandler(priority = Byte.MIN_VALUE)
     public void resetPlayer(PlayerDisconnectEvent e) {
-        fallbackLimbo.remove(e.getPlayer().getUniqueId());
+        fallbackLimbo.disconnected(e.getPlayer().getUniqueId());
+        if (SmartFallback.getJoinQueue() != null) SmartFallback.getJoinQueue().remove(e.getPlayer().getUniqueId());
         SubCommand.players.remove(e.getPlayer().getUniqueId());
 
-        synchronized (rPlayers) {
-            if (rPlayers.containsKey(e.getPlayer().getUniqueId()) && (!rPlayerLinkP.containsKey(e.getPlayer().getUniqueId()) || rPlayerLinkP.get(e.getPlayer().getUniqueId()).isMaster())) {
-                for (Proxy proxy : SubAPI.getInstance().getProxies().values()) if (proxy.getSubData()[0] != null) {
-                    ((SubDataClient) proxy.getSubData()[0]).sendPacket(new PacketExSyncPlayer(mProxy.getName(), false, rPlayers.get(e.getPlayer().getUniqueId())));
-                }
-                rPlayerLinkS.remove(e.getPlayer().getUniqueId());
-                rPlayerLinkP.remove(e.getPlayer().getUniqueId());
-                rPlayers.remove(e.getPlayer().getUniqueId());
-            }
-        }
+        rPlayers.unlink(e.getPlayer().getUniqueId(), mProxy);
+    }
+
+    @EventHandler(priority = Byte.MIN_VALUE)
+    public void invalidate(SubStartedEvent e) {
+        SmartFallback.invalidate();
+    }
+
+    @EventHandler(priority = Byte.MIN_VALUE)
+    public void invalidate(SubStoppedEvent e) {
+        SmartFallback.invalidate();
+        if (SmartFallback.getStatusCache() != null) SmartFallback.getStatusCache().invalidate(e.getServer());
     }
 
     @EventHandler(priority = Byte.MIN_VALUE)
@@ -6,8 +6,10 @@ import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
 import net.ME1312.SubData.Client.SubDataSender;
+import net.ME1312.SubServers.Client.Bukkit.Library.DeltaCache;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,6 +19,8 @@ import java.util.UUID;
  */
 public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
     private static HashMap<UUID, Callback<ObjectMap<String>>[]> callbacks = new HashMap<UUID, Callback<ObjectMap<String>>[]>();
+    private static HashSet<UUID> snapshots = new HashSet<UUID>();
+    private static final DeltaCache delta = new DeltaCache();
     private List<String> hosts;
     private UUID tracker;
 
@@ -43,6 +47,10 @@ public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketOb
     public ObjectMap<Integer> send(SubDataSender client) {
         ObjectMap<Integer> json = new ObjectMap<Integer>();
         json.set(0x0000, tracker);
+        if (hosts == null) {
+            snapshots.add(tracker);
+            delta.request(json);
+        }
         if (hosts != null) json.set(0x0001, hosts);
         return json;
     }
@@ -50,8 +58,18 @@ public class PacketDownloadHostInfo implements PacketObjectIn<Integer>, PacketOb
     @SuppressWarnings("unchecked")
     @Override
     public void receive(SubDataSender client, ObjectMap<Integer> data) {
-        for (Callback<ObjectMap<String>> callback : callbacks.get(data.getUUID(0x0000))) callback.run(new ObjectMap<String>((Map<String, ?>) data.getObject(0x0001)));
-        callbacks.remove(data.getUUID(0x0000));
+        UUID tracker = data.getUUID(0x0000);
+        Map<String, ?> objects;
+        if (snapshots.remove(tracker)) {
+            if ((objects = delta.apply(data)) == null) {
+                // Our revision is from before the master restarted, so download everything again
+                client.sendPacket(new PacketDownloadHostInfo((List<String>) null, callbacks.remove(tracker)));
+                return;
+            }
+        } else objects = (Map<String, ?>) data.getObject(0x0001);
+
+        for (Callback<ObjectMap<String>> callback : callbacks.get(tracker)) callback.run(new ObjectMap<String>(objects));
+        callbacks.remove(tracker);
     }
 
     @Override
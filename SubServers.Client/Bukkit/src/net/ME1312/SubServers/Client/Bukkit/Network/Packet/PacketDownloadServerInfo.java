@@ -6,8 +6,10 @@ import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
 import net.ME1312.SubData.Client.SubDataSender;
+import net.ME1312.SubServers.Client.Bukkit.Library.DeltaCache;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,7 +19,14 @@ import java.util.UUID;
  */
 public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
     private static HashMap<UUID, Callback<ObjectMap<String>>[]> callbacks = new HashMap<UUID, Callback<ObjectMap<String>>[]>();
+    private static HashSet<UUID> snapshots = new HashSet<UUID>();
+    private static final DeltaCache delta = new DeltaCache();
+    private static HashMap<UUID, PacketDownloadServerInfo> pages = new HashMap<UUID, PacketDownloadServerInfo>();
     private List<String> servers;
+    private String cursor;
+    private int size;
+    private Callback<ObjectMap<String>> page;
+    private Runnable end;
     private UUID tracker;
 
     /**
@@ -39,10 +48,41 @@ public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, Packet
         callbacks.put(tracker, callback);
     }
 
+    /**
+     * New PacketDownloadServerInfo (Out)
+     *
+     * @param size Page size
+     * @param page Page Callback (run for every page, in order)
+     * @param end End Callback (run after the last page)
+     */
+    public PacketDownloadServerInfo(int size, Callback<ObjectMap<String>> page, Runnable end) {
+        this(null, size, page, end);
+    }
+
+    private PacketDownloadServerInfo(String cursor, int size, Callback<ObjectMap<String>> page, Runnable end) {
+        if (Util.isNull(page, end)) throw new NullPointerException();
+        if (size <= 0) throw new IllegalArgumentException("Page size must be greater than zero");
+        this.cursor = cursor;
+        this.size = size;
+        this.page = page;
+        this.end = end;
+        this.tracker = Util.getNew(pages.keySet(), UUID::randomUUID);
+        pages.put(tracker, this);
+    }
+
     @Override
     public ObjectMap<Integer> send(SubDataSender client) {
         ObjectMap<Integer> json = new ObjectMap<Integer>();
         json.set(0x0000, tracker);
+        if (page != null) {
+            if (cursor != null) json.set(0x0005, cursor);
+            json.set(0x0006, size);
+            return json;
+        }
+        if (servers == null) {
+            snapshots.add(tracker);
+            delta.request(json);
+        }
         if (servers != null) json.set(0x0001, servers);
         return json;
     }
@@ -50,8 +90,27 @@ public class PacketDownloadServerInfo implements PacketObjectIn<Integer>, Packet
     @SuppressWarnings("unchecked")
     @Override
     public void receive(SubDataSender client, ObjectMap<Integer> data) {
-        for (Callback<ObjectMap<String>> callback : callbacks.get(data.getUUID(0x0000))) callback.run(new ObjectMap<String>((Map<String, ?>) data.getObject(0x0001)));
-        callbacks.remove(data.getUUID(0x0000));
+        UUID tracker = data.getUUID(0x0000);
+        PacketDownloadServerInfo request = pages.remove(tracker);
+        if (request != null) {
+            request.page.run(new ObjectMap<String>((Map<String, ?>) data.getObject(0x0001)));
+            if (data.contains(0x0005)) {
+                client.sendPacket(new PacketDownloadServerInfo(data.getRawString(0x0005), request.size, request.page, request.end));
+            } else request.end.run();
+            return;
+        }
+
+        Map<String, ?> objects;
+        if (snapshots.remove(tracker)) {
+            if ((objects = delta.apply(data)) == null) {
+                // Our revision is from before the master restarted, so download everything again
+                client.sendPacket(new PacketDownloadServerInfo((List<String>) null, callbacks.remove(tracker)));
+                return;
+            }
+        } else objects = (Map<String, ?>) data.getObject(0x0001);
+
+        for (Callback<ObjectMap<String>> callback : callbacks.get(tracker)) callback.run(new ObjectMap<String>(objects));
+        callbacks.remove(tracker);
     }
 
     @Override
@@ -50,6 +50,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, PacketDownloadPlayerInfo.class);
         registerPacket(0x0017, PacketCheckPermission.class);
         registerPacket(0x0018, PacketCheckPermissionResponse.class);
+        registerPacket(0x0019, PacketDownloadServerLog.class);
 
         registerPacket(0x0010, new PacketDownloadLang(plugin));
         registerPacket(0x0011, new PacketDownloadPlatformInfo());
@@ -60,6 +61,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, new PacketDownloadPlayerInfo());
         registerPacket(0x0017, new PacketCheckPermission());
         registerPacket(0x0018, new PacketCheckPermissionResponse());
+        registerPacket(0x0019, new PacketDownloadServerLog());
 
 
         // 30-4F: Control Packets
@@ -0,0 +1,71 @@
+package net.ME1312.SubServers.Client.Sponge.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Callback.Callback;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Client.SubDataSender;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Download Server Log Packet
+ */
+public class PacketDownloadServerLog implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private static HashMap<UUID, Callback<List<ObjectMap<String>>>[]> callbacks = new HashMap<UUID, Callback<List<ObjectMap<String>>>[]>();
+    private String server;
+    private Integer lines;
+    private UUID tracker;
+
+    /**
+     * New PacketDownloadServerLog (In)
+     */
+    public PacketDownloadServerLog() {}
+
+    /**
+     * New PacketDownloadServerLog (Out)
+     *
+     * @param server Server name
+     * @param lines Amount of lines (or null for all of them)
+     * @param callback Callbacks (the lines will be null if the server doesn't exist)
+     */
+    @SafeVarargs
+    public PacketDownloadServerLog(String server, Integer lines, Callback<List<ObjectMap<String>>>... callback) {
+        if (Util.isNull(server, callback)) throw new NullPointerException();
+        this.server = server;
+        this.lines = lines;
+        this.tracker = Util.getNew(callbacks.keySet(), UUID::randomUUID);
+        callbacks.put(tracker, callback);
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataSender client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        data.set(0x0000, tracker);
+        data.set(0x0001, server);
+        if (lines != null) data.set(0x0002, lines);
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void receive(SubDataSender client, ObjectMap<Integer> data) {
+        LinkedList<ObjectMap<String>> entries = null;
+        if (data.contains(0x0001)) {
+            entries = new LinkedList<ObjectMap<String>>();
+            for (Map<String, ?> entry : (List<Map<String, ?>>) data.getObject(0x0001)) entries.add(new ObjectMap<String>(entry));
+        }
+        for (Callback<List<ObjectMap<String>>> callback : callbacks.get(data.getUUID(0x0000))) callback.run(entries);
+        callbacks.remove(data.getUUID(0x0000));
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
@@ -4,26 +4,35 @@ import net.ME1312.Galaxi.Library.Callback.Callback;
 import net.ME1312.Galaxi.Library.Container.Container;
 import net.ME1312.Galaxi.Library.Log.LogStream;
 import net.ME1312.Galaxi.Library.Log.Logger;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Client.DataClient;
 import net.ME1312.SubData.Client.Library.DisconnectReason;
 import net.ME1312.SubData.Client.SubDataClient;
 import net.ME1312.SubServers.Host.ExHost;
+import net.ME1312.SubServers.Host.Library.LogClassifier;
+import net.ME1312.SubServers.Host.Library.LogSink;
+import net.ME1312.SubServers.Host.Library.LogThrottle;
 import net.ME1312.SubServers.Host.Library.TextColor;
 import net.ME1312.SubServers.Host.Network.Packet.PacketOutExLogMessage;
 import net.ME1312.SubServers.Host.SubAPI;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Internal Process Logger Class
  */
 public class SubLoggerImpl {
+    private static final int BATCH_LINES = 256;
+    private static final int BATCH_CHARS = 32768;
+    private static final long BATCH_DELAY = 50;
+    private static ScheduledExecutorService flusher = null;
     Process process;
     private Object handle;
     final Logger logger;
@@ -34,7 +43,13 @@ public class SubLoggerImpl {
     static boolean logc = true;
     File file;
     private SubDataClient channel = null;
-    private PrintWriter writer = null;
+    private final ArrayList<String> batch = new ArrayList<String>();
+    private int batched = 0;
+    private long sequence = 0;
+    private ScheduledFuture<?> flush = null;
+    private final LogThrottle throttle = new LogThrottle(0, 0, 0, false);
+    private LogSink writer = null;
+    private long lost = 0;
     private boolean started = false;
     private Thread out = null;
     private Thread err = null;
@@ -66,9 +81,8 @@ public class SubLoggerImpl {
         started = true;
         if (file != null && writer == null) {
             try {
-                this.writer = new PrintWriter(file, "UTF-8");
+                this.writer = LogSink.open(file, SubAPI.getInstance().getInternals().config.get().getMap("Settings").getMap("Log-Rotation", new ObjectMap<String>()));
                 this.writer.println("---------- LOG START \u2014 " + name + " ----------");
-                this.writer.flush();
             } catch (IOException e) {
                 logger.error.println(e);
             }
@@ -131,47 +145,87 @@ public class SubLoggerImpl {
 
     private void log(String line) {
         if (!line.startsWith(">")) {
-            String msg = line;
+            LogClassifier classified = LogClassifier.classify(line);
+            String msg = classified.getMessage();
             LogStream level;
 
-            // REGEX Formatting
-            String type = "";
-            Matcher matcher = Pattern.compile("^((?:\\s*\\[?([0-9]{2}:[0-9]{2}:[0-9]{2})]?)?[\\s\\/\\\\\\|]*(?:\\[|\\[.*\\/)?(MESSAGE|INFO|WARNING|WARN|ERROR|ERR|SEVERE)\\]?:?(?:\\s*>)?\\s*)").matcher(msg.replaceAll("\u001B\\[[;\\d]*m", ""));
-            while (matcher.find()) {
-                type = matcher.group(3).toUpperCase();
-            }
-
-            msg = msg.replaceAll("^((?:\\s*\\[?([0-9]{2}:[0-9]{2}:[0-9]{2})]?)?[\\s\\/\\\\\\|]*(?:\\[|\\[.*\\/)?(MESSAGE|INFO|WARNING|WARN|ERROR|ERR|SEVERE)\\]?:?(?:\\s*>)?\\s*)", "");
-
             // Determine LOG LEVEL
-            switch (type) {
-                case "WARNING":
-                case "WARN":
+            switch (classified.getSeverity()) {
+                case WARNING:
                     level = logger.warn;
                     break;
-                case "SEVERE":
+                case SEVERE:
                     level = logger.severe;
                     break;
-                case "ERROR":
-                case "ERR":
+                case ERROR:
                     level = logger.error;
                     break;
                 default:
                     level = logger.info;
             }
 
-            // Log to NETWORK
-            if (log.get() && channel != null && !channel.isClosed()) channel.sendPacket(new PacketOutExLogMessage(address, line));
+            // Throttle Message (which only keeps it off of the CONSOLE, the proxy throttles the NETWORK copy by its own policy)
+            boolean allow = throttle.allow(msg);
+            for (String notice; (notice = throttle.poll()) != null;) print(logger.warn, notice);
+            log(level, msg, line, allow);
+        }
+    }
+
+    private void log(LogStream level, String msg, String line, boolean display) {
+        // Log to NETWORK
+        if (log.get() && channel != null && !channel.isClosed()) send(line);
 
-            // Log to CONSOLE
-            if (log.get() && logc) level.println(TextColor.convertColor(msg));
+        // Log to CONSOLE
+        if (display) print(level, msg);
 
-            // Log to FILE
-            if (writer != null) {
-                writer.println(line);
-                writer.flush();
+        // Log to FILE
+        if (writer != null) writer.println(line);
+    }
+
+    private void print(LogStream level, String msg) {
+        if (log.get() && logc) level.println(TextColor.convertColor(msg));
+    }
+
+    private void send(String line) {
+        synchronized (batch) {
+            batch.add(line);
+            batched += line.length();
+            if (batch.size() >= BATCH_LINES || batched >= BATCH_CHARS) {
+                flush();
+            } else if (flush == null) {
+                flush = flusher().schedule(this::flush, BATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        synchronized (batch) {
+            if (flush != null) {
+                flush.cancel(false);
+                flush = null;
             }
+            if (!batch.isEmpty()) {
+                // Lines are numbered even if they couldn't be sent, so the proxy can tell where the gaps are
+                SubDataClient channel = this.channel;
+                if (channel != null && !channel.isClosed()) channel.sendPacket(new PacketOutExLogMessage(address, sequence, new ArrayList<String>(batch)));
+                sequence += batch.size();
+                batch.clear();
+                batched = 0;
+            }
+        }
+    }
+
+    private static synchronized ScheduledExecutorService flusher() {
+        if (flusher == null) {
+            ScheduledThreadPoolExecutor flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, SubAPI.getInstance().getAppInfo().getName() + "::Log_Flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.setRemoveOnCancelPolicy(true);
+            SubLoggerImpl.flusher = flusher;
         }
+        return flusher;
     }
 
     /**
@@ -187,9 +241,11 @@ public class SubLoggerImpl {
 
     private void destroy() {
         if (started) {
+            throttle.reset();
+            for (String notice; (notice = throttle.poll()) != null;) print(logger.warn, notice);
             started = false;
             if (writer != null) {
-                PrintWriter writer = this.writer;
+                LogSink writer = this.writer;
                 this.writer = null;
                 int l = (int) Math.floor((("---------- LOG START \u2014 " + name + " ----------").length() - 9) / 2);
                 String s = "";
@@ -197,8 +253,10 @@ public class SubLoggerImpl {
                 if (writer != null) {
                     writer.println(s + " LOG END " + s);
                     writer.close();
+                    lost += writer.getLostLines();
                 }
             }
+            flush();
             if (channel != null && !channel.isClosed()) {
                 channel.sendPacket(new PacketOutExLogMessage(address, true));
             }
@@ -233,6 +291,25 @@ public class SubLoggerImpl {
         return log.get();
     }
 
+    /**
+     * Get the Throttle that protects this Logger from being flooded
+     *
+     * @return Log Throttle
+     */
+    public LogThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Get the amount of lines that could not be written to the log file
+     *
+     * @return Lost Line Count
+     */
+    public long getLostLines() {
+        LogSink writer = this.writer;
+        return lost + ((writer == null)?0:writer.getLostLines());
+    }
+
     /**
      * Get the Logging Address
      *
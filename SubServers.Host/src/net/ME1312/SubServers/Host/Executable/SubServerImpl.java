@@ -1,12 +1,14 @@
 package net.ME1312.SubServers.Host.Executable;
 
 import net.ME1312.Galaxi.Library.Container.Container;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.UniversalFile;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.Galaxi.Library.Version.Version;
 import net.ME1312.SubData.Client.SubDataClient;
 import net.ME1312.SubServers.Host.ExHost;
 import net.ME1312.SubServers.Host.Library.Exception.InvalidServerException;
+import net.ME1312.SubServers.Host.Library.LogThrottle;
 import net.ME1312.SubServers.Host.Network.Packet.PacketExEditServer;
 import net.ME1312.SubServers.Host.SubAPI;
 
@@ -117,6 +119,8 @@ public class SubServerImpl {
             process = pb.start();
             falsestart = false;
             host.log.info.println("Now starting " + name);
+            ObjectMap<String> flood = host.config.get().getMap("Settings").getMap("Flood-Protection", new ObjectMap<String>());
+            logger.getThrottle().setPolicy(Math.max(0, flood.getInt("Rate", LogThrottle.DEFAULT_RATE)), Math.max(0, flood.getInt("Burst", LogThrottle.DEFAULT_BURST)), Math.max(0, flood.getInt("Sample", LogThrottle.DEFAULT_SAMPLE)), flood.getBoolean("Collapse", true));
             logger.process = process;
             logger.start();
             command = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
@@ -66,10 +66,23 @@ public class ConfigUpdater {
             settings.set("Download-Templates", updated.getMap("Settings", new YAMLSection()).getBoolean("Download-Templates", true));
             settings.set("Server-Bind", updated.getMap("Settings", new YAMLSection()).getRawString("Server-Bind", "127.0.0.1"));
 
+            YAMLSection log_rotation = new YAMLSection();
+            log_rotation.set("Size", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getLong("Size", 10L));
+            log_rotation.set("Age", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getLong("Age", 24L));
+            log_rotation.set("Keep", updated.getMap("Settings", new YAMLSection()).getMap("Log-Rotation", new YAMLSection()).getInt("Keep", 10));
+            settings.set("Log-Rotation", log_rotation);
+
             YAMLSection upnp = new YAMLSection();
             upnp.set("Forward-Servers", updated.getMap("Settings", new YAMLSection()).getMap("UPnP", new YAMLSection()).getBoolean("Forward-Servers", false));
             settings.set("UPnP", upnp);
 
+            YAMLSection flood_protection = new YAMLSection();
+            flood_protection.set("Rate", updated.getMap("Settings", new YAMLSection()).getMap("Flood-Protection", new YAMLSection()).getInt("Rate", 100));
+            flood_protection.set("Burst", updated.getMap("Settings", new YAMLSection()).getMap("Flood-Protection", new YAMLSection()).getInt("Burst", 1000));
+            flood_protection.set("Sample", updated.getMap("Settings", new YAMLSection()).getMap("Flood-Protection", new YAMLSection()).getInt("Sample", 100));
+            flood_protection.set("Collapse", updated.getMap("Settings", new YAMLSection()).getMap("Flood-Protection", new YAMLSection()).getBoolean("Collapse", true));
+            settings.set("Flood-Protection", flood_protection);
+
             YAMLSection subdata = new YAMLSection();
             subdata.set("Name", updated.getMap("Settings", new YAMLSection()).getMap("SubData", new YAMLSection()).getRawString("Name", "undefined"));
             subdata.set("Address", updated.getMap("Settings", new YAMLSection()).getMap("SubData", new YAMLSection()).getRawString("Address", "127.0.0.1:4391"));
@@ -0,0 +1,195 @@
+package net.ME1312.SubServers.Host.Library;
+
+import net.ME1312.Galaxi.Library.Util;
+
+/**
+ * Log Line Classifier Class<br>
+ * Finds the level, timestamp, and message of a server log line in a single pass
+ */
+public final class LogClassifier {
+    private static final String[] TOKENS = new String[]{ "MESSAGE", "INFO", "WARNING", "WARN", "ERROR", "ERR", "SEVERE" };
+    private static final Severity[] SEVERITIES = new Severity[]{ Severity.INFO, Severity.INFO, Severity.WARNING, Severity.WARNING, Severity.ERROR, Severity.ERROR, Severity.SEVERE };
+    private final String line;
+    private Severity severity = Severity.INFO;
+    private int timestamp = -1;
+    private int offset = 0;
+    private int end;
+    private boolean raw = false;
+
+    /**
+     * Log Severity Enum
+     */
+    public enum Severity {
+        INFO,
+        WARNING,
+        ERROR,
+        SEVERE,
+    }
+
+    private LogClassifier(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Classify a log line
+     *
+     * @param line Log Line
+     * @return Classified Line
+     */
+    public static LogClassifier classify(String line) {
+        if (Util.isNull(line)) throw new NullPointerException();
+        LogClassifier result = new LogClassifier(line);
+        if (result.match()) {
+            if (result.escape() >= result.end) {
+                result.offset = result.end;
+            } else {
+                // Colour codes only get in the way when they're stripping the prefix, so look again without skipping them
+                LogClassifier raw = new LogClassifier(line);
+                raw.raw = true;
+                if (raw.match()) result.offset = raw.end;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the original log line
+     *
+     * @return Log Line
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Get the severity of the line
+     *
+     * @return Severity (INFO if the line doesn't say)
+     */
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Get the timestamp of the line
+     *
+     * @return Timestamp (or null if the line doesn't have one)
+     */
+    public String getTimestamp() {
+        return (timestamp < 0)?null:line.substring(timestamp, timestamp + 8);
+    }
+
+    /**
+     * Get where the message starts
+     *
+     * @return Message Offset
+     */
+    public int getMessageOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the message (the line without its prefix)
+     *
+     * @return Message
+     */
+    public String getMessage() {
+        return (offset <= 0)?line:line.substring(offset);
+    }
+
+    private boolean match() {
+        // Look for [HH:MM:SS] first, but carry on without it if the rest doesn't match
+        int i = spaces(0), j = skip(i);
+        if (j < line.length() && line.charAt(j) == '[') i = j + 1;
+        if ((i = time(i)) >= 0) {
+            j = skip(i);
+            if (j < line.length() && line.charAt(j) == ']') i = j + 1;
+            if (prefix(i)) return true;
+            timestamp = -1;
+        }
+        return prefix(0);
+    }
+
+    // [\s/\\|]*(?:\[|\[.*/)?(LEVEL)\]?:?(?:\s*>)?\s*
+    private boolean prefix(int i) {
+        int j;
+        while ((j = skip(i)) < line.length() && (space(line.charAt(j)) || line.charAt(j) == '/' || line.charAt(j) == '\\' || line.charAt(j) == '|')) i = j + 1;
+        if (j < line.length() && line.charAt(j) == '[') {
+            if (level(j + 1)) return true;
+            for (int k = line.length() - 1; k > j; --k) {
+                if (line.charAt(k) == '/' && level(k + 1)) return true;
+            }
+            return false;
+        } else {
+            return level(i);
+        }
+    }
+
+    private boolean level(int i) {
+        for (int t = 0; t < TOKENS.length; ++t) {
+            int e = word(i, TOKENS[t]);
+            if (e >= 0) {
+                int j = skip(e);
+                if (j < line.length() && line.charAt(j) == ']') e = j + 1;
+                j = skip(e);
+                if (j < line.length() && line.charAt(j) == ':') e = j + 1;
+                j = skip(spaces(e));
+                if (j < line.length() && line.charAt(j) == '>') e = j + 1;
+                severity = SEVERITIES[t];
+                end = spaces(e);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int time(int i) {
+        int start = -1;
+        for (int c = 0; c < 8; ++c) {
+            i = skip(i);
+            if (i >= line.length() || ((c % 3 == 2)?line.charAt(i) != ':':(line.charAt(i) < '0' || line.charAt(i) > '9'))) return -1;
+            if (c == 0) start = i;
+            ++i;
+        }
+        timestamp = start;
+        return i;
+    }
+
+    private int word(int i, String word) {
+        for (int c = 0; c < word.length(); ++c) {
+            i = skip(i);
+            if (i >= line.length() || line.charAt(i) != word.charAt(c)) return -1;
+            ++i;
+        }
+        return i;
+    }
+
+    private int spaces(int i) {
+        int j;
+        while ((j = skip(i)) < line.length() && space(line.charAt(j))) i = j + 1;
+        return i;
+    }
+
+    // Steps over colour codes (\e[;0-9m) as if they weren't there
+    private int skip(int i) {
+        while (!raw && i + 1 < line.length() && line.charAt(i) == '\u001B' && line.charAt(i + 1) == '[') {
+            int j = i + 2;
+            while (j < line.length() && ((line.charAt(j) >= '0' && line.charAt(j) <= '9') || line.charAt(j) == ';')) ++j;
+            if (j < line.length() && line.charAt(j) == 'm') {
+                i = j + 1;
+            } else break;
+        }
+        return i;
+    }
+
+    private int escape() {
+        for (int i = line.indexOf('\u001B'); i >= 0 && i < end; i = line.indexOf('\u001B', i + 1)) {
+            if (skip(i) != i) return i;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static boolean space(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
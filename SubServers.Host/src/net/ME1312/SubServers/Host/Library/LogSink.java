@@ -0,0 +1,267 @@
+package net.ME1312.SubServers.Host.Library;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubServers.Host.SubAPI;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log File Sink Class<br>
+ * Writes log lines to a file in the background, rotating and compressing the file as it grows
+ */
+public class LogSink {
+    private static final int QUEUE = 8192;
+    private static final int BUFFER = 64 * 1024;
+    private static final long INTERVAL = 250;
+    private static ScheduledExecutorService writer = null;
+    private static ExecutorService compressor = null;
+    private final ArrayBlockingQueue<String> queue = new ArrayBlockingQueue<String>(QUEUE);
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+    private final AtomicLong lost = new AtomicLong(0);
+    private final ScheduledFuture<?> task;
+    private final File file;
+    private final long limit;
+    private final long age;
+    private final int keep;
+    private FileChannel channel;
+    private long size;
+    private long opened;
+    private volatile boolean draining = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Open a Log Sink<br>
+     * The file is rotated every 10MB or every day, whichever comes first, and the last 10 segments are kept
+     *
+     * @param file Log File (this will be overwritten)
+     * @throws IOException
+     */
+    public LogSink(File file) throws IOException {
+        this(file, 10 * 1024 * 1024, TimeUnit.DAYS.toMillis(1), 10);
+    }
+
+    /**
+     * Open a Log Sink
+     *
+     * @param file Log File (this will be overwritten)
+     * @param limit Size to rotate the file at (in bytes, or 0 to never rotate by size)
+     * @param age Age to rotate the file at (in milliseconds, or 0 to never rotate by age)
+     * @param keep Amount of rotated segments to keep (or 0 to keep them all)
+     * @throws IOException
+     */
+    public LogSink(File file, long limit, long age, int keep) throws IOException {
+        if (Util.isNull(file)) throw new NullPointerException();
+        this.file = file;
+        this.limit = Math.max(0, limit);
+        this.age = Math.max(0, age);
+        this.keep = Math.max(0, keep);
+        open(false);
+        this.task = writer().scheduleWithFixedDelay(this::drain, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a Log Sink with the Log-Rotation settings from the config
+     *
+     * @param file Log File (this will be overwritten)
+     * @param rotation Log-Rotation Settings
+     * @return Log Sink
+     * @throws IOException
+     */
+    public static LogSink open(File file, ObjectMap<String> rotation) throws IOException {
+        if (Util.isNull(rotation)) throw new NullPointerException();
+        return new LogSink(file, rotation.getLong("Size", 10L) * 1024 * 1024, TimeUnit.HOURS.toMillis(rotation.getLong("Age", 24L)), rotation.getInt("Keep", 10));
+    }
+
+    /**
+     * Write a line<br>
+     * Lines are dropped (and counted) if the writer can't keep up
+     *
+     * @param line Line
+     * @return Whether the line was queued
+     */
+    public boolean println(String line) {
+        if (closed || !queue.offer(line)) {
+            lost.incrementAndGet();
+            return false;
+        }
+        if (!draining && queue.size() >= QUEUE / 4) {
+            draining = true;
+            writer().execute(this::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Get the amount of lines that were dropped instead of written
+     *
+     * @return Lost Line Count
+     */
+    public long getLostLines() {
+        return lost.get();
+    }
+
+    private synchronized void drain() {
+        draining = false;
+        if (channel == null) return;
+        try {
+            for (String line; (line = queue.poll()) != null;) write(line);
+            flush();
+            if (age > 0 && size > 0 && System.currentTimeMillis() - opened >= age) rotate();
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(String line) throws IOException {
+        byte[] raw = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        if (raw.length > buffer.remaining()) flush();
+        if (raw.length > buffer.capacity()) {
+            ByteBuffer wrapped = ByteBuffer.wrap(raw);
+            while (wrapped.hasRemaining()) channel.write(wrapped);
+        } else {
+            buffer.put(raw);
+        }
+        size += raw.length;
+        if (limit > 0 && size >= limit) rotate();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void open(boolean append) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, (append)?StandardOpenOption.APPEND:StandardOpenOption.TRUNCATE_EXISTING);
+        opened = System.currentTimeMillis();
+        size = 0;
+    }
+
+    private void rotate() throws IOException {
+        flush();
+        channel.close();
+        channel = null;
+
+        // Move the full segment out of the way, then compress it while we carry on with a new one
+        TreeMap<Integer, File[]> segments = segments();
+        File segment = new File(file.getParentFile(), base() + '-' + ((segments.isEmpty())?1:segments.lastKey() + 1) + extension());
+        if (file.renameTo(segment)) {
+            compressor().execute(() -> {
+                compress(segment);
+                prune();
+            });
+            open(false);
+        } else {
+            // Keep writing to the same file rather than wiping what we couldn't move, and try again later
+            open(true);
+        }
+    }
+
+    private String base() {
+        String name = file.getName();
+        return (name.contains("."))?name.substring(0, name.lastIndexOf('.')):name;
+    }
+
+    private String extension() {
+        String name = file.getName();
+        return (name.contains("."))?name.substring(name.lastIndexOf('.')):"";
+    }
+
+    private TreeMap<Integer, File[]> segments() {
+        TreeMap<Integer, File[]> segments = new TreeMap<Integer, File[]>();
+        String prefix = base() + '-';
+        String extension = extension();
+        File[] files = file.getAbsoluteFile().getParentFile().listFiles();
+        if (files != null) for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(".gz")) name = name.substring(0, name.length() - 3);
+            if (name.startsWith(prefix) && name.endsWith(extension) && name.length() > prefix.length() + extension.length()) {
+                String id = name.substring(prefix.length(), name.length() - extension.length());
+                if (id.chars().allMatch(Character::isDigit) && id.length() < 10) {
+                    File[] list = segments.get(Integer.parseInt(id));
+                    if (list == null) {
+                        list = new File[]{ file };
+                    } else {
+                        list = Arrays.copyOf(list, list.length + 1);
+                        list[list.length - 1] = file;
+                    }
+                    segments.put(Integer.parseInt(id), list);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private void prune() {
+        if (keep > 0) {
+            TreeMap<Integer, File[]> segments = segments();
+            while (segments.size() > keep) for (File file : segments.pollFirstEntry().getValue()) file.delete();
+        }
+    }
+
+    private static void compress(File file) {
+        if (!file.exists()) return; // Already pruned
+        File gzip = new File(file.getPath() + ".gz");
+        try (InputStream in = new FileInputStream(file); OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip))) {
+            byte[] buffer = new byte[8192];
+            for (int length; (length = in.read(buffer)) != -1;) out.write(buffer, 0, length);
+        } catch (IOException e) {
+            e.printStackTrace();
+            gzip.delete();
+            return;
+        }
+        file.delete();
+    }
+
+    private static synchronized ScheduledExecutorService writer() {
+        if (writer == null) {
+            ScheduledThreadPoolExecutor writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, SubAPI.getInstance().getAppInfo().getName() + "::Log_Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer.setRemoveOnCancelPolicy(true);
+            LogSink.writer = writer;
+        }
+        return writer;
+    }
+
+    private static synchronized ExecutorService compressor() {
+        if (compressor == null) compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SubAPI.getInstance().getAppInfo().getName() + "::Log_Compressor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        return compressor;
+    }
+
+    /**
+     * Write everything that's left and close the file
+     */
+    public void close() {
+        closed = true;
+        task.cancel(false);
+        drain();
+        synchronized (this) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package net.ME1312.SubServers.Host.Library;
+
+import net.ME1312.Galaxi.Library.Util;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log Flood Throttle Class<br>
+ * Limits how fast a logger may log, collapsing long runs of repeated lines and sampling the rest once the limit is hit
+ */
+public class LogThrottle {
+    /**
+     * Lines per second allowed when the config doesn't say otherwise
+     */
+    public static final int DEFAULT_RATE = 100;
+    /**
+     * Lines allowed in a single burst when the config doesn't say otherwise
+     */
+    public static final int DEFAULT_BURST = 1000;
+    /**
+     * Sample rate used when the config doesn't say otherwise
+     */
+    public static final int DEFAULT_SAMPLE = 100;
+    private static final long REPORT = TimeUnit.SECONDS.toNanos(10);
+    private static final int COLLAPSE = 3;
+    private final LinkedList<String> notices = new LinkedList<String>();
+    private int rate;
+    private int burst;
+    private int sample;
+    private boolean collapse;
+    private double tokens;
+    private long refilled;
+    private String last = null;
+    private int streak = 0;
+    private long repeats = 0;
+    private long reported = 0;
+    private long suppressed = 0;
+    private long overflow = 0;
+    private long dropped = 0;
+    private long collapsed = 0;
+    private long sampled = 0;
+
+    /**
+     * Create a Log Throttle with the default policy
+     */
+    public LogThrottle() {
+        this(DEFAULT_RATE, DEFAULT_BURST, DEFAULT_SAMPLE, true);
+    }
+
+    /**
+     * Create a Log Throttle
+     *
+     * @param rate Lines per second (or 0 for no limit)
+     * @param burst Lines allowed in a single burst
+     * @param sample Let 1 in this many lines through once over the limit (or 0 to drop them all)
+     * @param collapse Whether to collapse runs of repeated lines
+     */
+    public LogThrottle(int rate, int burst, int sample, boolean collapse) {
+        setPolicy(rate, burst, sample, collapse);
+        this.tokens = this.burst;
+        this.refilled = System.nanoTime();
+    }
+
+    /**
+     * Change the policy of this throttle
+     *
+     * @param rate Lines per second (or 0 for no limit)
+     * @param burst Lines allowed in a single burst
+     * @param sample Let 1 in this many lines through once over the limit (or 0 to drop them all)
+     * @param collapse Whether to collapse runs of repeated lines
+     */
+    public synchronized void setPolicy(int rate, int burst, int sample, boolean collapse) {
+        if (rate < 0 || burst < 0 || sample < 0) throw new IllegalArgumentException("Policy values cannot be negative");
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.sample = sample;
+        this.collapse = collapse;
+        this.tokens = Math.min(tokens, this.burst);
+    }
+
+    /**
+     * Check if a message may be logged<br>
+     * Any notices this produces should be logged before the message with {@link #poll()}
+     *
+     * @param message Message
+     * @return Whether the message may be logged
+     */
+    public synchronized boolean allow(String message) {
+        if (Util.isNull(message)) throw new NullPointerException();
+        long now = System.nanoTime();
+
+        // Collapse repeated lines without spending anything on them (once a few have gone through as they are)
+        boolean repeat = message.equals(last);
+        if (collapse && repeat && streak >= COLLAPSE) {
+            ++repeats;
+            ++collapsed;
+            if (now - reported >= REPORT) report(now);
+            return false;
+        }
+        if (repeats > 0) report(now);
+
+        // Spend a token on everything else
+        if (rate > 0) {
+            tokens = Math.min(burst, tokens + (now - refilled) * rate / (double) TimeUnit.SECONDS.toNanos(1));
+            refilled = now;
+            if (tokens < 1) {
+                if (sample > 0 && ++overflow % sample == 0) {
+                    ++sampled;
+                } else {
+                    ++suppressed;
+                    ++dropped;
+                    return false;
+                }
+            } else {
+                tokens -= 1;
+                if (suppressed > 0) {
+                    notices.add("Flood protection dropped " + suppressed + " line" + ((suppressed == 1)?"":"s"));
+                    suppressed = 0;
+                }
+                overflow = 0;
+            }
+        }
+        streak = (repeat)?streak + 1:1;
+        last = message;
+        reported = now;
+        return true;
+    }
+
+    private void report(long now) {
+        notices.add("Last message repeated " + repeats + " time" + ((repeats == 1)?"":"s"));
+        repeats = 0;
+        reported = now;
+    }
+
+    /**
+     * Get the next notice to log
+     *
+     * @return Notice (or null if there are none left)
+     */
+    public synchronized String poll() {
+        return notices.poll();
+    }
+
+    /**
+     * Report anything still held back and start over<br>
+     * Notices produced by this should be logged with {@link #poll()}
+     */
+    public synchronized void reset() {
+        long now = System.nanoTime();
+        if (repeats > 0) report(now);
+        if (suppressed > 0) notices.add("Flood protection dropped " + suppressed + " line" + ((suppressed == 1)?"":"s"));
+        suppressed = 0;
+        overflow = 0;
+        last = null;
+        streak = 0;
+        tokens = burst;
+        refilled = now;
+    }
+
+    /**
+     * Get the amount of lines allowed per second
+     *
+     * @return Rate (or 0 for no limit)
+     */
+    public synchronized int getRate() {
+        return rate;
+    }
+
+    /**
+     * Get the amount of lines allowed in a single burst
+     *
+     * @return Burst Size
+     */
+    public synchronized int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Get the sample rate used once over the limit
+     *
+     * @return Sample Rate (or 0 if everything is dropped)
+     */
+    public synchronized int getSample() {
+        return sample;
+    }
+
+    /**
+     * Get if runs of repeated lines are collapsed
+     *
+     * @return Collapse Status
+     */
+    public synchronized boolean isCollapsing() {
+        return collapse;
+    }
+
+    /**
+     * Get the amount of lines dropped for going over the limit
+     *
+     * @return Dropped Line Count
+     */
+    public synchronized long getDroppedLines() {
+        return dropped;
+    }
+
+    /**
+     * Get the amount of lines collapsed for being repeats
+     *
+     * @return Collapsed Line Count
+     */
+    public synchronized long getCollapsedLines() {
+        return collapsed;
+    }
+
+    /**
+     * Get the amount of lines let through by sampling while over the limit
+     *
+     * @return Sampled Line Count
+     */
+    public synchronized long getSampledLines() {
+        return sampled;
+    }
+}
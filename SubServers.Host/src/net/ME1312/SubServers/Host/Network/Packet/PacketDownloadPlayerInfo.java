@@ -6,6 +6,7 @@ import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
 import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
 import net.ME1312.SubData.Client.SubDataSender;
+import net.ME1312.SubServers.Host.Library.DeltaCache;
 
 import java.util.*;
 
@@ -14,8 +15,15 @@ import java.util.*;
  */
 public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
     private static HashMap<UUID, Callback<ObjectMap<String>>[]> callbacks = new HashMap<UUID, Callback<ObjectMap<String>>[]>();
+    private static HashSet<UUID> snapshots = new HashSet<UUID>();
+    private static final DeltaCache delta = new DeltaCache();
+    private static HashMap<UUID, PacketDownloadPlayerInfo> pages = new HashMap<UUID, PacketDownloadPlayerInfo>();
     private Collection<String> names;
     private Collection<UUID> ids;
+    private UUID cursor;
+    private int size;
+    private Callback<ObjectMap<String>> page;
+    private Runnable end;
     private UUID tracker;
 
     /**
@@ -51,10 +59,41 @@ public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, Packet
         callbacks.put(tracker, callback);
     }
 
+    /**
+     * New PacketDownloadPlayerInfo (Out)
+     *
+     * @param size Page size
+     * @param page Page Callback (run for every page, in order)
+     * @param end End Callback (run after the last page)
+     */
+    public PacketDownloadPlayerInfo(int size, Callback<ObjectMap<String>> page, Runnable end) {
+        this(null, size, page, end);
+    }
+
+    private PacketDownloadPlayerInfo(UUID cursor, int size, Callback<ObjectMap<String>> page, Runnable end) {
+        if (Util.isNull(page, end)) throw new NullPointerException();
+        if (size <= 0) throw new IllegalArgumentException("Page size must be greater than zero");
+        this.cursor = cursor;
+        this.size = size;
+        this.page = page;
+        this.end = end;
+        this.tracker = Util.getNew(pages.keySet(), UUID::randomUUID);
+        pages.put(tracker, this);
+    }
+
     @Override
     public ObjectMap<Integer> send(SubDataSender client) {
         ObjectMap<Integer> json = new ObjectMap<Integer>();
         json.set(0x0000, tracker);
+        if (page != null) {
+            if (cursor != null) json.set(0x0005, cursor);
+            json.set(0x0006, size);
+            return json;
+        }
+        if (names == null && ids == null) {
+            snapshots.add(tracker);
+            delta.request(json);
+        }
         if (names != null) json.set(0x0001, names);
         if (ids != null) json.set(0x0002, ids);
         return json;
@@ -63,8 +102,27 @@ public class PacketDownloadPlayerInfo implements PacketObjectIn<Integer>, Packet
     @SuppressWarnings("unchecked")
     @Override
     public void receive(SubDataSender client, ObjectMap<Integer> data) {
-        for (Callback<ObjectMap<String>> callback : callbacks.get(data.getUUID(0x0000))) callback.run(new ObjectMap<String>((Map<String, ?>) data.getObject(0x0001)));
-        callbacks.remove(data.getUUID(0x0000));
+        UUID tracker = data.getUUID(0x0000);
+        PacketDownloadPlayerInfo request = pages.remove(tracker);
+        if (request != null) {
+            request.page.run(new ObjectMap<String>((Map<String, ?>) data.getObject(0x0001)));
+            if (data.contains(0x0005)) {
+                client.sendPacket(new PacketDownloadPlayerInfo(data.getUUID(0x0005), request.size, request.page, request.end));
+            } else request.end.run();
+            return;
+        }
+
+        Map<String, ?> objects;
+        if (snapshots.remove(tracker)) {
+            if ((objects = delta.apply(data)) == null) {
+                // Our revision is from before the master restarted, so download everything again
+                client.sendPacket(new PacketDownloadPlayerInfo((List<UUID>) null, callbacks.remove(tracker)));
+                return;
+            }
+        } else objects = (Map<String, ?>) data.getObject(0x0001);
+
+        for (Callback<ObjectMap<String>> callback : callbacks.get(tracker)) callback.run(new ObjectMap<String>(objects));
+        callbacks.remove(tracker);
     }
 
     @Override
@@ -5,6 +5,7 @@ import net.ME1312.Galaxi.Library.Version.Version;
 import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
 import net.ME1312.SubData.Client.SubDataSender;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,6 +14,8 @@ import java.util.UUID;
 public class PacketOutExLogMessage implements PacketObjectOut<Integer> {
     private UUID address;
     private String line;
+    private List<String> lines;
+    private long sequence;
     private boolean terminate;
 
     /**
@@ -24,6 +27,20 @@ public class PacketOutExLogMessage implements PacketObjectOut<Integer> {
         this.terminate = false;
     }
 
+    /**
+     * New PacketInExLogMessage (Out)
+     *
+     * @param address External Logger Address
+     * @param sequence Sequence Number of the first line
+     * @param lines Lines
+     */
+    public PacketOutExLogMessage(UUID address, long sequence, List<String> lines) {
+        this.address = address;
+        this.sequence = sequence;
+        this.lines = lines;
+        this.terminate = false;
+    }
+
     /**
      * New PacketInExLogMessage (Out)
      */
@@ -40,6 +57,10 @@ public class PacketOutExLogMessage implements PacketObjectOut<Integer> {
         ObjectMap<Integer> data = new ObjectMap<Integer>();
         data.set(0x0000, address);
         if (line != null) data.set(0x0001, line);
+        if (lines != null) {
+            data.set(0x0002, sequence);
+            data.set(0x0003, lines);
+        }
         return data;
     }
 
@@ -2,7 +2,6 @@ package net.ME1312.SubServers.Sync;
 
 import com.dosse.upnp.UPnP;
 import com.google.gson.Gson;
-import net.ME1312.Galaxi.Library.Container.PrimitiveContainer;
 import net.ME1312.SubData.Client.DataClient;
 import net.ME1312.SubData.Client.Encryption.AES;
 import net.ME1312.SubData.Client.Encryption.DHE;
@@ -11,10 +10,14 @@ import net.ME1312.SubData.Client.Library.DataSize;
 import net.ME1312.SubData.Client.Library.DisconnectReason;
 import net.ME1312.SubServers.Sync.Event.*;
 import net.ME1312.Galaxi.Library.Config.YAMLConfig;
+import net.ME1312.Galaxi.Library.Callback.ReturnRunnable;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.SubServers.Sync.Library.Compatibility.Galaxi.GalaxiCommand;
 import net.ME1312.SubServers.Sync.Library.Compatibility.Logger;
+import net.ME1312.SubServers.Sync.Library.Fallback.FallbackLimbo;
+import net.ME1312.SubServers.Sync.Library.Fallback.JoinQueue;
 import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
+import net.ME1312.SubServers.Sync.Library.Fallback.StatusCache;
 import net.ME1312.SubServers.Sync.Library.Metrics;
 import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.Galaxi.Library.UniversalFile;
@@ -29,9 +32,9 @@ import net.ME1312.SubServers.Sync.Network.SubProtocol;
 import net.ME1312.SubServers.Sync.Server.ServerImpl;
 import net.ME1312.SubServers.Sync.Server.SubServerImpl;
 import net.md_5.bungee.BungeeCord;
-import net.md_5.bungee.BungeeServerInfo;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.ServerPing;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -39,6 +42,8 @@ import net.md_5.bungee.api.config.ListenerInfo;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.event.*;
 import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.plugin.PluginDescription;
 import net.md_5.bungee.connection.InitialHandler;
 import net.md_5.bungee.event.EventHandler;
 
@@ -48,7 +53,17 @@ import java.net.InetAddress;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 /**
  * Main Plugin Class
@@ -57,10 +72,9 @@ public final class ExProxy extends BungeeCord implements Listener {
     HashMap<Integer, SubDataClient> subdata = new HashMap<Integer, SubDataClient>();
     NamedContainer<Long, Map<String, Map<String, String>>> lang = null;
     public final Map<String, ServerImpl> servers = new TreeMap<String, ServerImpl>();
-    public final HashMap<UUID, ServerImpl> rPlayerLinkS = new HashMap<UUID, ServerImpl>();
-    public final HashMap<UUID, String> rPlayerLinkP = new HashMap<UUID, String>();
-    public final HashMap<UUID, RemotePlayer> rPlayers = new HashMap<UUID, RemotePlayer>();
-    private final HashMap<UUID, List<ServerInfo>> fallbackLimbo = new HashMap<UUID, List<ServerInfo>>();
+    public final ConcurrentHashMap<UUID, ServerImpl> rPlayerLinkS = new ConcurrentHashMap<UUID, ServerImpl>();
+    public final ConcurrentHashMap<UUID, String> rPlayerLinkP = new ConcurrentHashMap<UUID, String>();
+    public final ConcurrentHashMap<UUID, RemotePlayer> rPlayers = new ConcurrentHashMap<UUID, RemotePlayer>();
 
     public final PrintStream out;
     public final UniversalFile dir = new UniversalFile(new File(System.getProperty("user.dir")));
@@ -69,6 +83,9 @@ public final class ExProxy extends BungeeCord implements Listener {
     public SubProtocol subprotocol;
     public static final Version version = Version.fromString("2.16.2a");
 
+    public final Plugin plugin;
+    public final ScheduledExecutorService timer;
+    public final FallbackLimbo fallbackLimbo;
     public final boolean isPatched;
     public final boolean isGalaxi;
     public long lastReload = -1;
@@ -78,6 +95,9 @@ public final class ExProxy extends BungeeCord implements Listener {
 
     ExProxy(PrintStream out, boolean isPatched) throws Exception {
         this.isPatched = isPatched;
+        this.plugin = plugin();
+        this.timer = timer();
+        this.fallbackLimbo = new FallbackLimbo(timer);
         this.isGalaxi = !Util.isException(() ->
                 Util.reflect(Class.forName("net.ME1312.Galaxi.Engine.PluginManager").getMethod("findClasses", Class.class),
                         Util.reflect(Class.forName("net.ME1312.Galaxi.Engine.GalaxiEngine").getMethod("getPluginManager"),
@@ -85,6 +105,7 @@ public final class ExProxy extends BungeeCord implements Listener {
 
         Util.reflect(Logger.class.getDeclaredField("plugin"), null, this);
         Logger.get("SubServers").info("Loading SubServers.Sync v" + version.toString() + " Libraries (for Minecraft " + api.getGameVersion()[api.getGameVersion().length - 1] + ")");
+        if (plugin == null) Logger.get("SubServers").warning("Could not create a stand-in plugin for this version of BungeeCord. Server list passthrough will answer without waiting, and players will not be held to look up their last server.");
 
         this.out = out;
         if (!(new UniversalFile(dir, "config.yml").exists())) {
@@ -177,8 +198,7 @@ public final class ExProxy extends BungeeCord implements Listener {
         int reconnect = config.get().getMap("Settings").getMap("SubData").getInt("Reconnect", 30);
         if (disconnect == null || (this.reconnect && reconnect > 0 && disconnect.name() != DisconnectReason.PROTOCOL_MISMATCH && disconnect.name() != DisconnectReason.ENCRYPTION_MISMATCH)) {
             long reset = resetDate;
-            Timer timer = new Timer("SubServers.Sync::SubData_Reconnect_Handler");
-            timer.scheduleAtFixedRate(new TimerTask() {
+            timer.schedule(new Runnable() {
                 @Override
                 public void run() {
                     try {
@@ -190,12 +210,13 @@ public final class ExProxy extends BungeeCord implements Listener {
                             if (subdata.getOrDefault(0, null) != null) subdata.get(0).reconnect(open);
                             subdata.put(0, open);
                         }
-                        timer.cancel();
-                    } catch (IOException e) {
+                    } catch (Throwable e) {
+                        if (!(e instanceof IOException)) e.printStackTrace();
                         net.ME1312.SubServers.Sync.Library.Compatibility.Logger.get("SubData").info("Connection was unsuccessful, retrying in " + reconnect + " seconds");
+                        timer.schedule(this, reconnect, TimeUnit.SECONDS);
                     }
                 }
-            }, (disconnect == null)?0:TimeUnit.SECONDS.toMillis(reconnect), TimeUnit.SECONDS.toMillis(reconnect));
+            }, (disconnect == null)?0:reconnect, TimeUnit.SECONDS);
         }
     }
 
@@ -302,6 +323,7 @@ public final class ExProxy extends BungeeCord implements Listener {
         try {
             Logger.get("SubServers").info("Resetting Server Data");
             servers.clear();
+            SmartFallback.invalidate();
 
             reconnect = false;
             ArrayList<SubDataClient> tmp = new ArrayList<SubDataClient>();
@@ -327,23 +349,71 @@ public final class ExProxy extends BungeeCord implements Listener {
         super.stopListeners();
     }
 
+    /**
+     * Create a stand-in Plugin for SubServers<br>
+     * This depends on BungeeCord's no-arg Plugin constructor and its private <code>Plugin.init(ProxyServer, PluginDescription)</code> method.
+     * Without it, async events like server list pings and logins can't be held open, so anything that needs to wait on them is skipped.
+     *
+     * @return Stand-in Plugin (or null if it couldn't be created)
+     */
+    private Plugin plugin() {
+        PluginDescription description = new PluginDescription();
+        description.setName("SubServers.Sync");
+        description.setVersion(version.toString());
+        description.setAuthor("ME1312");
+
+        // Async events can only be held open on behalf of a plugin, so we make a stand-in for ourselves
+        return Util.getDespiteException(() -> {
+            Plugin instance = new Plugin();
+            Util.reflect(Plugin.class.getDeclaredMethod("init", ProxyServer.class, PluginDescription.class), instance, this, description);
+            return instance;
+        }, null);
+    }
+
+    private ScheduledExecutorService timer() {
+        // One set of timer threads for everything that has to wait, rather than a new Timer each time
+        AtomicInteger threads = new AtomicInteger(0);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "SubServers.Sync::Timer(" + threads.incrementAndGet() + ')');
+            thread.setDaemon(true);
+            return thread;
+        }) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable error) {
+                // Scheduled tasks hold on to their exceptions, so we have to dig them out to see them
+                if (error == null && task instanceof Future<?> && ((Future<?>) task).isDone()) {
+                    try {
+                        ((Future<?>) task).get();
+                    } catch (ExecutionException e) {
+                        error = e.getCause();
+                    } catch (CancellationException | InterruptedException e) {}
+                }
+                if (error != null) getLogger().log(Level.SEVERE, "Unhandled exception in " + Thread.currentThread().getName(), error);
+            }
+        };
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
     @EventHandler(priority = Byte.MIN_VALUE)
     public void ping_passthrough(ProxyPingEvent e) {
         boolean dynamic;
         ServerInfo override;
         if ((dynamic = SmartFallback.getForcedHost(e.getConnection()) == null) && getReconnectHandler() instanceof SmartFallback && (override = SmartFallback.getDNS(e.getConnection())) != null) {
             if (!(override instanceof SubServerImpl) || ((SubServerImpl) override).isRunning()) {
+                StatusCache.Status status;
                 if (!e.getConnection().getListener().isPingPassthrough()) {
                     e.setResponse(new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(override.getMotd()), null));
+                } else if ((status = SmartFallback.getStatusCache().get(override, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion())) != null || plugin == null) {
+                    // Answer from the last known status (which may be refreshing in the background)
+                    e.setResponse(passthrough(e, override, status));
                 } else {
-                    PrimitiveContainer<Boolean> lock = new PrimitiveContainer<>(true);
-                    ((BungeeServerInfo) override).ping((ping, error) -> {
-                        if (error != null) {
-                            e.setResponse(new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(getTranslation("ping_cannot_connect")), null));
-                        } else e.setResponse(ping);
-                        lock.value = false;
-                    }, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion());
-                    while (lock.value) Util.isException(() -> Thread.sleep(4));
+                    // Hold the event open until the first status of this server comes in
+                    e.registerIntent(plugin);
+                    SmartFallback.getStatusCache().get(override, ((InitialHandler) e.getConnection()).getHandshake().getProtocolVersion(), result -> {
+                        e.setResponse(passthrough(e, override, result));
+                        e.completeIntent(plugin);
+                    });
                 }
             }
         } else if (dynamic) {
@@ -351,6 +421,19 @@ public final class ExProxy extends BungeeCord implements Listener {
         }
     }
 
+    private ServerPing passthrough(ProxyPingEvent e, ServerInfo server, StatusCache.Status status) {
+        if (status == null) {
+            return new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(server.getMotd()), null);
+        } else if (!status.isOnline()) {
+            return new ServerPing(e.getResponse().getVersion(), e.getResponse().getPlayers(), new TextComponent(getTranslation("ping_cannot_connect")), null);
+        } else {
+            // Copy the cached response, as other listeners may still change it
+            ServerPing ping = status.getPing();
+            ServerPing.Players players = (ping.getPlayers() == null)?null:new ServerPing.Players(ping.getPlayers().getMax(), ping.getPlayers().getOnline(), ping.getPlayers().getSample());
+            return new ServerPing(ping.getVersion(), players, ping.getDescriptionComponent(), ping.getFaviconObject());
+        }
+    }
+
     @EventHandler(priority = Byte.MAX_VALUE)
     public void ping(ProxyPingEvent e) {
         ServerInfo override;
@@ -360,9 +443,15 @@ public final class ExProxy extends BungeeCord implements Listener {
             }
         } else {
             int offline = 0;
+            StatusCache cache = SmartFallback.getStatusCache();
             for (String name : e.getConnection().getListener().getServerPriority()) {
                 ServerInfo server = getServerInfo(name);
-                if (server == null || (server instanceof SubServerImpl && !((SubServerImpl) server).isRunning())) offline++;
+                if (server == null || (server instanceof SubServerImpl && !((SubServerImpl) server).isRunning())) {
+                    offline++;
+                } else if (!(server instanceof SubServerImpl) && cache != null) {
+                    StatusCache.Status status = cache.get(server);
+                    if (status != null && !status.isOnline()) offline++;
+                }
             }
 
             if (offline >= e.getConnection().getListener().getServerPriority().size()) {
@@ -382,6 +471,25 @@ public final class ExProxy extends BungeeCord implements Listener {
                 ((SubDataClient) api.getSubDataNetwork()[0]).sendPacket(new PacketDisconnectPlayer(player.getUniqueId(), getTranslation("already_connected_proxy")));
             }
         }
+
+        if (!e.isCancelled() && plugin != null && getReconnectHandler() instanceof SmartFallback) {
+            // Hold the login until SubServers.Bungee tells us where this player was last
+            AtomicBoolean done = new AtomicBoolean(false);
+            e.registerIntent(plugin);
+            ScheduledFuture<?> timeout = timer.schedule(() -> {
+                if (done.compareAndSet(false, true)) e.completeIntent(plugin);
+            }, config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>()).getInt("Ping-Timeout", 2000), TimeUnit.MILLISECONDS);
+            ReturnRunnable<Boolean> complete = () -> {
+                if (done.compareAndSet(false, true)) {
+                    timeout.cancel(false);
+                    e.completeIntent(plugin);
+                    return true;
+                } else {
+                    return false;
+                }
+            };
+            if (!SmartFallback.loadReconnectServer(e.getConnection().getUniqueId(), e.getConnection().getName(), complete)) complete.run();
+        }
     }
 
     @EventHandler(priority = Byte.MAX_VALUE)
@@ -397,8 +505,8 @@ public final class ExProxy extends BungeeCord implements Listener {
         }
 
         if (!e.getTarget().canAccess(e.getPlayer())) {
-            if (e.getPlayer().getServer() == null || fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-                if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId()) || fallbackLimbo.get(e.getPlayer().getUniqueId()).contains(e.getTarget())) {
+            if (e.getPlayer().getServer() == null || fallbackLimbo.contains(e.getPlayer().getUniqueId())) {
+                if (!fallbackLimbo.contains(e.getPlayer().getUniqueId()) || fallbackLimbo.isCandidate(e.getPlayer().getUniqueId(), e.getTarget())) {
                     ServerKickEvent kick = new ServerKickEvent(e.getPlayer(), e.getTarget(), new BaseComponent[]{
                             new TextComponent(getTranslation("no_server_permission"))
                     }, null, ServerKickEvent.State.CONNECTING);
@@ -410,17 +518,13 @@ public final class ExProxy extends BungeeCord implements Listener {
                 e.getPlayer().sendMessage(getTranslation("no_server_permission"));
                 e.setCancelled(true);
             }
-        } else if (e.getPlayer().getServer() != null && !fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId()) && e.getTarget() instanceof SubServerImpl && !((SubServerImpl) e.getTarget()).isRunning()) {
+        } else if (e.getPlayer().getServer() != null && !fallbackLimbo.contains(e.getPlayer().getUniqueId()) && e.getTarget() instanceof SubServerImpl && !((SubServerImpl) e.getTarget()).isRunning()) {
             e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Server.Offline"));
             e.setCancelled(true);
         }
 
-        if (fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-            if (fallbackLimbo.get(e.getPlayer().getUniqueId()).contains(e.getTarget())) {
-                fallbackLimbo.get(e.getPlayer().getUniqueId()).remove(e.getTarget());
-            } else if (e.getPlayer().getServer() != null) {
-                e.setCancelled(true);
-            }
+        if (fallbackLimbo.contains(e.getPlayer().getUniqueId()) && !fallbackLimbo.take(e.getPlayer().getUniqueId(), e.getTarget()) && e.getPlayer().getServer() != null) {
+            e.setCancelled(true);
         }
     }
 
@@ -440,34 +544,25 @@ public final class ExProxy extends BungeeCord implements Listener {
         }
 
 
-        if (fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) new Timer("SubServers.Sync::Fallback_Limbo_Timer(" + e.getPlayer().getUniqueId() + ')').schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (e.getPlayer().getServer() != null && !((UserConnection) e.getPlayer()).isDimensionChange() && e.getPlayer().getServer().getInfo().getAddress().equals(e.getServer().getInfo().getAddress())) {
-                    fallbackLimbo.remove(e.getPlayer().getUniqueId());
-                    e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback.Result").replace("$str$", (e.getServer().getInfo() instanceof ServerImpl)?((ServerImpl) e.getServer().getInfo()).getDisplayName():e.getServer().getInfo().getName()));
-                }
-            }
-        }, 1000);
+        JoinQueue queue = SmartFallback.getJoinQueue();
+        if (queue != null && queue.isHeld(e.getPlayer().getUniqueId()) && !e.getServer().getInfo().equals(queue.getLimbo())) queue.remove(e.getPlayer().getUniqueId());
+
+        fallbackLimbo.connected(e.getPlayer(), e.getServer().getInfo(), () -> e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback.Result").replace("$str$", (e.getServer().getInfo() instanceof ServerImpl)?((ServerImpl) e.getServer().getInfo()).getDisplayName():e.getServer().getInfo().getName())));
     }
 
     @SuppressWarnings("deprecation")
     @EventHandler(priority = Byte.MAX_VALUE)
     public void fallback(ServerKickEvent e) {
         if (e.getPlayer() instanceof UserConnection && config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>()).getBoolean("Fallback", true)) {
-            Map<String, ServerInfo> fallbacks;
-            if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) {
-                fallbacks = SmartFallback.getFallbackServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer());
-            } else {
-                fallbacks = new LinkedHashMap<String, ServerInfo>();
-                for (ServerInfo server : fallbackLimbo.get(e.getPlayer().getUniqueId())) fallbacks.put(server.getName(), server);
-            }
+            JoinQueue queue = SmartFallback.getJoinQueue();
+            Map<String, ServerInfo> candidates = fallbackLimbo.getCandidates(e.getPlayer().getUniqueId());
+            Map<String, ServerInfo> fallbacks = (candidates != null)?candidates:(queue == null)?SmartFallback.getFallbackServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer()):queue.getAvailableServers(e.getPlayer().getPendingConnection().getListener(), e.getPlayer());
 
             fallbacks.remove(e.getKickedFrom().getName());
             if (!fallbacks.isEmpty()) {
                 e.setCancelled(true);
                 e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback").replace("$str$", (e.getKickedFrom() instanceof ServerImpl)?((ServerImpl) e.getKickedFrom()).getDisplayName():e.getKickedFrom().getName()).replace("$msg$", e.getKickReason()));
-                if (!fallbackLimbo.keySet().contains(e.getPlayer().getUniqueId())) fallbackLimbo.put(e.getPlayer().getUniqueId(), new LinkedList<>(fallbacks.values()));
+                fallbackLimbo.attempt(e.getPlayer().getUniqueId(), fallbacks.values());
 
                 ServerInfo next = new LinkedList<Map.Entry<String, ServerInfo>>(fallbacks.entrySet()).getFirst().getValue();
                 e.setCancelServer(next);
@@ -475,13 +570,22 @@ public final class ExProxy extends BungeeCord implements Listener {
                     ((UserConnection) e.getPlayer()).setServerJoinQueue(new LinkedList<>(fallbacks.keySet()));
                     ((UserConnection) e.getPlayer()).connect(next, null, true);
                 }
+            } else if (queue != null && !e.getKickedFrom().equals(queue.getLimbo())) {
+                // Wait in line for a server to free up
+                ServerInfo limbo = queue.hold(e.getPlayer());
+                if (limbo != null) {
+                    e.setCancelled(true);
+                    e.getPlayer().sendMessage(api.getLang("SubServers", "Bungee.Feature.Smart-Fallback").replace("$str$", (e.getKickedFrom() instanceof ServerImpl)?((ServerImpl) e.getKickedFrom()).getDisplayName():e.getKickedFrom().getName()).replace("$msg$", e.getKickReason()));
+                    e.setCancelServer(limbo);
+                }
             }
         }
     }
 
     @EventHandler(priority = Byte.MIN_VALUE)
     public void resetPlayer(PlayerDisconnectEvent e) {
-        fallbackLimbo.remove(e.getPlayer().getUniqueId());
+        fallbackLimbo.disconnected(e.getPlayer().getUniqueId());
+        if (SmartFallback.getJoinQueue() != null) SmartFallback.getJoinQueue().remove(e.getPlayer().getUniqueId());
         SubCommand.permitted.remove(e.getPlayer().getUniqueId());
 
         synchronized (rPlayers) {
@@ -517,6 +621,7 @@ public final class ExProxy extends BungeeCord implements Listener {
                             getSubDataAsMap(server), server.getMotd(), server.isHidden(), server.isRestricted(), server.getWhitelist()));
                     Logger.get("SubServers").info("Added Server: " + e.getServer());
                 }
+                SmartFallback.invalidate();
             } else System.out.println("PacketDownloadServerInfo(" + e.getServer() + ") returned with an invalid response");
         });
     }
@@ -533,6 +638,7 @@ public final class ExProxy extends BungeeCord implements Listener {
                             getSubDataAsMap(server), server.getMotd(), server.isHidden(), server.isRestricted(), server.getWhitelist()));
                 }
 
+                SmartFallback.invalidate();
                 Logger.get("SubServers").info("Added "+((server instanceof net.ME1312.SubServers.Sync.Network.API.SubServer)?"Sub":"")+"Server: " + server.getName());
                 return true;
             } else {
@@ -597,14 +703,19 @@ public final class ExProxy extends BungeeCord implements Listener {
 
     @EventHandler(priority = Byte.MIN_VALUE)
     public void stop(SubStoppedEvent e) {
-        if (servers.keySet().contains(e.getServer().toLowerCase()) && servers.get(e.getServer().toLowerCase()) instanceof SubServerImpl)
+        if (servers.keySet().contains(e.getServer().toLowerCase()) && servers.get(e.getServer().toLowerCase()) instanceof SubServerImpl) {
             ((SubServerImpl) servers.get(e.getServer().toLowerCase())).setRunning(false);
+            if (SmartFallback.getStatusCache() != null) SmartFallback.getStatusCache().invalidate(servers.get(e.getServer().toLowerCase()));
+        }
     }
 
     @EventHandler(priority = Byte.MIN_VALUE)
     public void remove(SubRemoveServerEvent e) {
-        if (servers.keySet().contains(e.getServer().toLowerCase()))
-            servers.remove(e.getServer().toLowerCase());
+        if (servers.keySet().contains(e.getServer().toLowerCase())) {
+            ServerImpl server = servers.remove(e.getServer().toLowerCase());
+            SmartFallback.invalidate();
+            if (SmartFallback.getStatusCache() != null) SmartFallback.getStatusCache().invalidate(server);
             Logger.get("SubServers").info("Removed Server: " + e.getServer());
+        }
     }
 }
@@ -81,6 +81,28 @@ public class ConfigUpdater {
             smart_fallback.set("Fallback", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Fallback", true));
             smart_fallback.set("Reconnect", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Reconnect", false));
             smart_fallback.set("DNS-Forward", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("DNS-Forward", false));
+            smart_fallback.set("Ping-Timeout", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getInt("Ping-Timeout", 2000));
+            smart_fallback.set("Inspector-Timeout", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getInt("Inspector-Timeout", 0));
+            smart_fallback.set("Parallel-Inspection", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getBoolean("Parallel-Inspection", false));
+
+            YAMLSection status_cache = new YAMLSection();
+            status_cache.set("TTL", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getLong("TTL", 5000L));
+            status_cache.set("Expire", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getLong("Expire", 60000L));
+            status_cache.set("Max-Entries", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Status-Cache", new YAMLSection()).getInt("Max-Entries", 1024));
+            smart_fallback.set("Status-Cache", status_cache);
+
+            YAMLSection join_queue = new YAMLSection();
+            join_queue.set("Enabled", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getBoolean("Enabled", false));
+            join_queue.set("Limbo-Server", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Join-Queue", new YAMLSection()).getRawString("Limbo-Server", ""));
+            smart_fallback.set("Join-Queue", join_queue);
+
+            YAMLSection load_balance = new YAMLSection();
+            load_balance.set("Enabled", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getBoolean("Enabled", false));
+            load_balance.set("Soft-Capacity", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Soft-Capacity", 50));
+            load_balance.set("Hard-Capacity", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Hard-Capacity", 0));
+            load_balance.set("Join-Rate-Window", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getInt("Join-Rate-Window", 10));
+            load_balance.set("Servers", updated.getMap("Settings", new YAMLSection()).getMap("Smart-Fallback", new YAMLSection()).getMap("Load-Balance", new YAMLSection()).getMap("Servers", new YAMLSection()));
+            smart_fallback.set("Load-Balance", load_balance);
             settings.set("Smart-Fallback", smart_fallback);
 
             YAMLSection upnp = new YAMLSection();
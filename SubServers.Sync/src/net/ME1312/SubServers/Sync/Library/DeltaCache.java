@@ -0,0 +1,73 @@
+package net.ME1312.SubServers.Sync.Library;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delta Download Cache Class<br>
+ * Remembers the last full download of an info packet, so that only the changes since then have to be sent again
+ */
+public class DeltaCache {
+    private final LinkedHashMap<String, Object> data = new LinkedHashMap<String, Object>();
+    private UUID epoch = null;
+    private long revision = 0;
+
+    /**
+     * Ask for only the changes since the last download
+     *
+     * @param request Download Request
+     */
+    public synchronized void request(ObjectMap<Integer> request) {
+        if (epoch != null) {
+            request.set(0x0003, revision);
+            request.set(0x0004, epoch);
+        }
+    }
+
+    /**
+     * Apply a Download Response
+     *
+     * @param response Download Response
+     * @return Every object that is now known (or null if the download has to be repeated)
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Map<String, ?> apply(ObjectMap<Integer> response) {
+        Map<String, ?> objects = (Map<String, ?>) response.getObject(0x0001);
+        if (!response.contains(0x0002) || !response.contains(0x0003)) return objects;
+
+        UUID epoch = response.getUUID(0x0003);
+        long revision = response.getLong(0x0002);
+        if (!response.contains(0x0004)) {
+            // Full snapshot (only replaces what we have if it is newer)
+            if (!epoch.equals(this.epoch) || revision >= this.revision) {
+                data.clear();
+                data.putAll(objects);
+                this.epoch = epoch;
+                this.revision = revision;
+            } else return objects;
+        } else if (epoch.equals(this.epoch)) {
+            // Changes since the revision we asked for
+            if (revision >= this.revision) {
+                for (String key : response.getRawStringList(0x0004)) data.remove(key);
+                data.putAll(objects);
+                this.revision = revision;
+            }
+        } else {
+            reset();
+            return null;
+        }
+        return new LinkedHashMap<String, Object>(data);
+    }
+
+    /**
+     * Forget the last download
+     */
+    public synchronized void reset() {
+        data.clear();
+        epoch = null;
+        revision = 0;
+    }
+}
@@ -0,0 +1,238 @@
+package net.ME1312.SubServers.Sync.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Util;
+import net.md_5.bungee.UserConnection;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fallback Limbo Class<br>
+ * Follows each player that Smart Fallback is moving between servers, from the first kick until they've settled somewhere (or left)
+ */
+public class FallbackLimbo {
+    private static final long CONFIRM = TimeUnit.SECONDS.toMillis(1);
+    private static final long EXPIRE = TimeUnit.SECONDS.toMillis(30);
+    private final ConcurrentHashMap<UUID, State> players = new ConcurrentHashMap<UUID, State>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong attempts = new AtomicLong(0);
+    private final AtomicLong successes = new AtomicLong(0);
+    private final AtomicLong disconnects = new AtomicLong(0);
+
+    /**
+     * Fallback Phase Enum
+     */
+    public enum Phase {
+        /**
+         * Being sent to one of the remaining fallback servers
+         */
+        CONNECTING,
+
+        /**
+         * Connected to a fallback server, but not for long enough to call it a success
+         */
+        CONFIRMING,
+    }
+
+    private final class State {
+        private final UUID player;
+        private final LinkedHashSet<ServerInfo> candidates;
+        private Phase phase = Phase.CONNECTING;
+        private ScheduledFuture<?> timeout;
+
+        private State(UUID player, Collection<ServerInfo> candidates) {
+            this.player = player;
+            this.candidates = new LinkedHashSet<ServerInfo>(candidates);
+        }
+
+        private void schedule(Runnable task, long delay) {
+            if (timeout != null) timeout.cancel(false);
+            timeout = scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void expire() {
+            // Nothing has happened for a while, so stop holding onto this player
+            schedule(() -> players.remove(player, this), EXPIRE);
+        }
+    }
+
+    /**
+     * Create a Fallback Limbo
+     *
+     * @param scheduler Scheduler to time players out with
+     */
+    public FallbackLimbo(ScheduledExecutorService scheduler) {
+        if (Util.isNull(scheduler)) throw new NullPointerException();
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Check if a player is in limbo
+     *
+     * @param player Player
+     * @return Limbo Status
+     */
+    public boolean contains(UUID player) {
+        return players.containsKey(player);
+    }
+
+    /**
+     * Get the phase a player is in
+     *
+     * @param player Player
+     * @return Fallback Phase (or null if the player isn't in limbo)
+     */
+    public Phase getPhase(UUID player) {
+        State state = players.get(player);
+        if (state == null) return null;
+        synchronized (state) {
+            return state.phase;
+        }
+    }
+
+    /**
+     * Check if a server is still a fallback candidate for a player
+     *
+     * @param player Player
+     * @param server Server
+     * @return Candidate Status
+     */
+    public boolean isCandidate(UUID player, ServerInfo server) {
+        State state = players.get(player);
+        if (state == null) return false;
+        synchronized (state) {
+            return state.candidates.contains(server);
+        }
+    }
+
+    /**
+     * Get the fallback servers a player has left
+     *
+     * @param player Player
+     * @return Fallback Servers (or null if the player isn't in limbo)
+     */
+    public Map<String, ServerInfo> getCandidates(UUID player) {
+        State state = players.get(player);
+        if (state == null) return null;
+        LinkedHashMap<String, ServerInfo> map = new LinkedHashMap<String, ServerInfo>();
+        synchronized (state) {
+            for (ServerInfo server : state.candidates) map.put(server.getName(), server);
+        }
+        return map;
+    }
+
+    /**
+     * Record a fallback attempt<br>
+     * Players entering limbo for the first time will be given these candidates
+     *
+     * @param player Player
+     * @param candidates Fallback Servers
+     */
+    public void attempt(UUID player, Collection<ServerInfo> candidates) {
+        if (Util.isNull(player, candidates)) throw new NullPointerException();
+        State state = players.computeIfAbsent(player, id -> new State(id, candidates));
+        synchronized (state) {
+            state.phase = Phase.CONNECTING;
+            state.expire();
+        }
+        attempts.incrementAndGet();
+    }
+
+    /**
+     * Take a server off of a player's candidates, as it's being tried now
+     *
+     * @param player Player
+     * @param server Server
+     * @return Whether the server was a candidate
+     */
+    public boolean take(UUID player, ServerInfo server) {
+        State state = players.get(player);
+        if (state == null) return false;
+        synchronized (state) {
+            return state.candidates.remove(server);
+        }
+    }
+
+    /**
+     * Record that a player in limbo has connected to a server<br>
+     * If they're still there a moment later, the fallback is considered successful
+     *
+     * @param player Player
+     * @param server Server
+     * @param success Success Callback
+     */
+    public void connected(ProxiedPlayer player, ServerInfo server, Runnable success) {
+        if (Util.isNull(player, server, success)) throw new NullPointerException();
+        State state = players.get(player.getUniqueId());
+        if (state != null) synchronized (state) {
+            state.phase = Phase.CONFIRMING;
+            state.schedule(() -> {
+                if (player.getServer() != null && !(player instanceof UserConnection && ((UserConnection) player).isDimensionChange()) && player.getServer().getInfo().getAddress().equals(server.getAddress())) {
+                    if (players.remove(player.getUniqueId(), state)) {
+                        successes.incrementAndGet();
+                        success.run();
+                    }
+                } else synchronized (state) {
+                    if (state.phase == Phase.CONFIRMING) state.expire();
+                }
+            }, CONFIRM);
+        }
+    }
+
+    /**
+     * Take a player out of limbo because they've disconnected
+     *
+     * @param player Player
+     */
+    public void disconnected(UUID player) {
+        State state = players.remove(player);
+        if (state != null) {
+            synchronized (state) {
+                if (state.timeout != null) state.timeout.cancel(false);
+            }
+            disconnects.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the amount of players in limbo
+     *
+     * @return Player Count
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Get the amount of fallback attempts made
+     *
+     * @return Attempt Count
+     */
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    /**
+     * Get the amount of players that were successfully moved to a fallback server
+     *
+     * @return Success Count
+     */
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    /**
+     * Get the amount of players that disconnected before a fallback server would take them
+     *
+     * @return Disconnect Count
+     */
+    public long getDisconnects() {
+        return disconnects.get();
+    }
+}
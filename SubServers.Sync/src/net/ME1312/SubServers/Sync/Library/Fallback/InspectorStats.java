@@ -0,0 +1,125 @@
+package net.ME1312.SubServers.Sync.Library.Fallback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fallback Inspector Statistics Class<br>
+ * Keeps a latency histogram along with the amount of calls, errors, and timeouts of a single inspector
+ */
+public class InspectorStats {
+    private static final long[] BOUNDS = new long[]{
+            TimeUnit.MICROSECONDS.toNanos(100),
+            TimeUnit.MICROSECONDS.toNanos(250),
+            TimeUnit.MICROSECONDS.toNanos(500),
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1),
+            Long.MAX_VALUE
+    };
+    private final AtomicLongArray histogram = new AtomicLongArray(BOUNDS.length);
+    private final AtomicLong calls = new AtomicLong(0);
+    private final AtomicLong errors = new AtomicLong(0);
+    private final AtomicLong timeouts = new AtomicLong(0);
+    private final AtomicLong time = new AtomicLong(0);
+
+    void record(long nanos) {
+        int i = 0;
+        while (nanos > BOUNDS[i]) ++i;
+        histogram.incrementAndGet(i);
+        calls.incrementAndGet();
+        time.addAndGet(nanos);
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    void timeout() {
+        timeouts.incrementAndGet();
+    }
+
+    /**
+     * Get the upper bounds of the histogram buckets
+     *
+     * @return Bucket Bounds (in nanoseconds, where the last bucket is unbounded)
+     */
+    public static long[] getBounds() {
+        return BOUNDS.clone();
+    }
+
+    /**
+     * Get the latency histogram
+     *
+     * @return Call counts for each bucket
+     * @see #getBounds()
+     */
+    public long[] getHistogram() {
+        long[] histogram = new long[BOUNDS.length];
+        for (int i = 0; i < histogram.length; ++i) histogram[i] = this.histogram.get(i);
+        return histogram;
+    }
+
+    /**
+     * Get the latency that a portion of calls completed within
+     *
+     * @param percentile Percentile (from 0.0 to 1.0)
+     * @return Upper Bound of the matching bucket (in nanoseconds, or -1 if there were no calls)
+     */
+    public long getPercentile(double percentile) {
+        long[] histogram = getHistogram();
+        long total = 0;
+        for (long count : histogram) total += count;
+        if (total == 0) return -1;
+
+        long target = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 1));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; ++i) {
+            seen += histogram[i];
+            if (seen >= target && seen > 0) return BOUNDS[i];
+        }
+        return BOUNDS[BOUNDS.length - 1];
+    }
+
+    /**
+     * Get the average latency
+     *
+     * @return Average Latency (in nanoseconds)
+     */
+    public long getAverage() {
+        long calls = this.calls.get();
+        return (calls == 0)?0:time.get() / calls;
+    }
+
+    /**
+     * Get the amount of completed calls
+     *
+     * @return Call count
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Get the amount of calls that threw an exception
+     *
+     * @return Error count
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Get the amount of calls that exceeded their time budget (and were treated as neutral)
+     *
+     * @return Timeout count
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+}
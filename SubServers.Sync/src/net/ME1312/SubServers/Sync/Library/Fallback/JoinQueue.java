@@ -0,0 +1,160 @@
+package net.ME1312.SubServers.Sync.Library.Fallback;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Client.SubDataClient;
+import net.ME1312.SubServers.Sync.ExProxy;
+import net.ME1312.SubServers.Sync.Network.Packet.PacketExJoinQueue;
+import net.md_5.bungee.api.config.ListenerInfo;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Network Join Queue Class<br>
+ * Holds players on a limbo server while every fallback server is full or offline, until SubServers.Bungee lets them back in
+ */
+public class JoinQueue {
+    private final ExProxy plugin;
+    private final String limbo;
+    private final Set<UUID> held = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a Join Queue
+     *
+     * @param plugin SubPlugin
+     * @param settings Join Queue Settings
+     */
+    public JoinQueue(ExProxy plugin, ObjectMap<String> settings) {
+        this(plugin, settings, null);
+    }
+
+    JoinQueue(ExProxy plugin, ObjectMap<String> settings, JoinQueue previous) {
+        if (Util.isNull(plugin, settings)) throw new NullPointerException();
+        if (previous != null) held.addAll(previous.held);
+        this.plugin = plugin;
+        this.limbo = settings.getRawString("Limbo-Server", "");
+    }
+
+    /**
+     * Get the Limbo Server that queued players are held on
+     *
+     * @return Limbo Server (or null if it is not available)
+     */
+    public ServerInfo getLimbo() {
+        return (limbo.length() <= 0)?null:plugin.getServerInfo(limbo);
+    }
+
+    /**
+     * Get the servers that a player could be released to
+     *
+     * @param listener Listener
+     * @param player Player
+     * @return Fallback Servers (without the Limbo Server)
+     */
+    public Map<String, ServerInfo> getAvailableServers(ListenerInfo listener, ProxiedPlayer player) {
+        Map<String, ServerInfo> fallbacks = SmartFallback.getFallbackServers(listener, player);
+        if (limbo.length() > 0) fallbacks.values().removeIf(server -> server.getName().equalsIgnoreCase(limbo));
+        return fallbacks;
+    }
+
+    /**
+     * Hold a player on this proxy until there's room for them
+     *
+     * @param player Player
+     * @return Limbo Server to send the player to (or null if they cannot be held)
+     */
+    @SuppressWarnings("deprecation")
+    public ServerInfo hold(ProxiedPlayer player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        ServerInfo limbo = getLimbo();
+        if (limbo != null && held.add(player.getUniqueId())) {
+            player.sendMessage(plugin.api.getLang("SubServers", "Bungee.Feature.Join-Queue"));
+            send(0, player.getUniqueId());
+        }
+        return limbo;
+    }
+
+    /**
+     * Check if a player is held by this proxy
+     *
+     * @param player Player
+     * @return Held Status
+     */
+    public boolean isHeld(UUID player) {
+        return held.contains(player);
+    }
+
+    /**
+     * Stop holding a player on this proxy
+     *
+     * @param player Player
+     */
+    public void remove(UUID player) {
+        if (held.remove(player)) send(1, player);
+    }
+
+    /**
+     * Put every held player back in line<br>
+     * SubServers.Bungee forgets about them when we lose connection
+     */
+    public void resync() {
+        for (UUID player : held) {
+            if (plugin.getPlayer(player) != null) {
+                send(0, player);
+            } else {
+                held.remove(player);
+            }
+        }
+    }
+
+    /**
+     * Try to send a held player to a fallback server
+     *
+     * @param id Player
+     */
+    public void release(UUID id) {
+        ProxiedPlayer player = plugin.getPlayer(id);
+        if (player == null || !held.contains(id)) {
+            held.remove(id);
+            send(1, id);
+        } else if (player.getServer() == null) {
+            send(4, id);
+        } else {
+            Map<String, ServerInfo> fallbacks = getAvailableServers(player.getPendingConnection().getListener(), player);
+            if (fallbacks.isEmpty()) {
+                send(4, id);
+            } else {
+                player.connect(fallbacks.values().iterator().next(), (success, error) -> {
+                    if (success == Boolean.TRUE) {
+                        remove(id);
+                    } else {
+                        send(4, id);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Tell held players their place in line
+     *
+     * @param positions Player Positions
+     */
+    @SuppressWarnings("deprecation")
+    public void update(Map<UUID, Integer> positions) {
+        for (Map.Entry<UUID, Integer> position : positions.entrySet()) {
+            ProxiedPlayer player = plugin.getPlayer(position.getKey());
+            if (player != null && held.contains(position.getKey()))
+                player.sendMessage(plugin.api.getLang("SubServers", "Bungee.Feature.Join-Queue.Position").replace("$int$", position.getValue().toString()));
+        }
+    }
+
+    private void send(int action, UUID player) {
+        if (plugin.api.getSubDataNetwork()[0] != null) ((SubDataClient) plugin.api.getSubDataNetwork()[0]).sendPacket(new PacketExJoinQueue(action, player));
+    }
+}
@@ -1,8 +1,11 @@
 package net.ME1312.SubServers.Sync.Library.Fallback;
 
+import net.ME1312.Galaxi.Library.Callback.ReturnRunnable;
 import net.ME1312.Galaxi.Library.Map.ObjectMap;
 import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Client.SubDataClient;
 import net.ME1312.SubServers.Sync.ExProxy;
+import net.ME1312.SubServers.Sync.Network.Packet.PacketExReconnectServer;
 import net.ME1312.SubServers.Sync.Server.ServerImpl;
 import net.ME1312.SubServers.Sync.Server.SubServerImpl;
 import net.ME1312.SubServers.Sync.SubAPI;
@@ -17,18 +20,103 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Smart Fallback Handler Class
  */
 public class SmartFallback implements ReconnectHandler {
     private static List<FallbackInspector> inspectors = new CopyOnWriteArrayList<FallbackInspector>();
-    private static ReconnectHandler reconnect;
+    private static final ConcurrentHashMap<UUID, String> reconnects = new ConcurrentHashMap<UUID, String>();
+    private static volatile boolean reconnect = false;
+    private static final AtomicLong generation = new AtomicLong(0);
+    private static volatile Table[] tables = new Table[0];
+    private static volatile DNS dns = null;
+    private static final ConcurrentHashMap<FallbackInspector, InspectorStats> stats = new ConcurrentHashMap<FallbackInspector, InspectorStats>();
+    private static volatile long timeout = 0;
+    private static volatile boolean parallel = false;
+    private static Pool pool;
+    private static StatusCache status;
+    private static JoinQueue queue;
+    private static LoadBalancer balancer;
+
+    private static final class Table {
+        private final ListenerInfo listener;
+        private final long generation;
+        private final Candidate[] candidates;
+
+        private Table(ListenerInfo listener, long generation, Candidate[] candidates) {
+            this.listener = listener;
+            this.generation = generation;
+            this.candidates = candidates;
+        }
+    }
+
+    private static final class Candidate {
+        private final ServerInfo server;
+        private final double confidence;
+
+        private Candidate(ServerInfo server, double confidence) {
+            this.server = server;
+            this.confidence = confidence;
+        }
+    }
+
+    private static final class DNS {
+        private final long generation;
+        private final Label root = new Label();
+        private final ConcurrentHashMap<String, Boolean> unknown = new ConcurrentHashMap<String, Boolean>();
+
+        private DNS(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static final class Label {
+        private final HashMap<String, Label> children = new HashMap<String, Label>();
+        private ServerInfo server;
+    }
+
+    private static final class Result implements Comparable<Result> {
+        private final ServerInfo server;
+        private final double confidence;
+        private final int order;
+
+        private Result(ServerInfo server, double confidence, int order) {
+            this.server = server;
+            this.confidence = confidence;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Result other) {
+            int result = Double.compare(other.confidence, confidence);
+            return (result != 0)?result:Integer.compare(order, other.order);
+        }
+    }
 
     public SmartFallback(ExProxy proxy) {
-        if (reconnect == null && proxy.config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>()).getBoolean("Reconnect", false))
-            reconnect = Util.getDespiteException(() -> Util.reflect(ProxyServer.getInstance().getPluginManager().getPlugin("reconnect_yaml").getClass().getClassLoader().loadClass("net.md_5.bungee.module.reconnect.yaml.YamlReconnectHandler").getConstructor()), null);
+        ObjectMap<String> settings = proxy.config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>());
+        timeout = TimeUnit.MILLISECONDS.toNanos(Math.max(0, settings.getInt("Inspector-Timeout", 0)));
+        parallel = settings.getBoolean("Parallel-Inspection", false);
+        retire();
+        invalidate();
+        if (status != null) status.close();
+        status = new StatusCache(proxy.timer, settings.getMap("Status-Cache", new ObjectMap<>()), settings.getInt("Ping-Timeout", 2000));
+        queue = (settings.getMap("Join-Queue", new ObjectMap<>()).getBoolean("Enabled", false))?new JoinQueue(proxy, settings.getMap("Join-Queue"), queue):null;
+        if (balancer != null) {
+            removeInspector(balancer);
+            proxy.getPluginManager().unregisterListener(balancer);
+            balancer = null;
+        }
+        if (settings.getMap("Load-Balance", new ObjectMap<>()).getBoolean("Enabled", false)) {
+            balancer = new LoadBalancer(proxy, settings.getMap("Load-Balance"));
+            proxy.getPluginManager().registerListener(null, balancer);
+            addInspector(balancer);
+        }
+        reconnect = settings.getBoolean("Reconnect", false);
     }
 
     @Override
@@ -41,9 +129,10 @@ public class SmartFallback implements ReconnectHandler {
         } else if ((override = getReconnectServer(player)) != null) {
             return override;
         } else {
-            Map<String, ServerInfo> fallbacks = getFallbackServers(player.getPendingConnection().getListener(), player);
+            JoinQueue queue = SmartFallback.queue;
+            Map<String, ServerInfo> fallbacks = (queue == null)?getFallbackServers(player.getPendingConnection().getListener(), player):queue.getAvailableServers(player.getPendingConnection().getListener(), player);
             if (fallbacks.isEmpty()) {
-                return null;
+                return (queue == null)?null:queue.hold(player);
             } else {
                 if (player instanceof UserConnection) ((UserConnection) player).setServerJoinQueue(new LinkedList<>(fallbacks.keySet()));
                 return new LinkedList<Map.Entry<String, ServerInfo>>(fallbacks.entrySet()).getFirst().getValue();
@@ -81,18 +170,42 @@ public class SmartFallback implements ReconnectHandler {
         if (connection.getVirtualHost() == null || !((ExProxy) ProxyServer.getInstance()).config.get().getMap("Settings").getMap("Smart-Fallback", new ObjectMap<>()).getBoolean("DNS-Forward", false)) {
             return null;
         } else {
-            Map.Entry<String, ServerInfo> server = null;
-            String dns = connection.getVirtualHost().getHostString().toLowerCase();
-            for (Map.Entry<String, ServerInfo> s : ((ExProxy) ProxyServer.getInstance()).getServersCopy().entrySet()) {
-                if (dns.startsWith(s.getKey().toLowerCase() + '.'))
-                    if (server == null || server.getKey().length() < s.getKey().length())
-                        server = s;
+            String host = connection.getVirtualHost().getHostString().toLowerCase();
+            DNS dns = getDNSTable();
+            if (dns.unknown.containsKey(host)) return null;
+
+            // Walk the hostname one label at a time, keeping the longest server name that is followed by another label
+            ServerInfo server = null;
+            Label label = dns.root;
+            int start = 0, end;
+            while ((end = host.indexOf('.', start)) >= 0 && (label = label.children.get(host.substring(start, end))) != null) {
+                if (label.server != null) server = label.server;
+                start = end + 1;
             }
 
-            return (server == null)?null:server.getValue();
+            if (server == null) {
+                if (dns.unknown.size() >= 4096) dns.unknown.clear();
+                dns.unknown.put(host, Boolean.TRUE);
+            }
+            return server;
         }
     }
 
+    private static DNS getDNSTable() {
+        long generation = SmartFallback.generation.get();
+        DNS dns = SmartFallback.dns;
+        if (dns == null || dns.generation != generation) {
+            dns = new DNS(generation);
+            for (Map.Entry<String, ServerInfo> server : ((ExProxy) ProxyServer.getInstance()).getServersCopy().entrySet()) {
+                Label label = dns.root;
+                for (String part : server.getKey().toLowerCase().split("\\.", -1)) label = label.children.computeIfAbsent(part, k -> new Label());
+                if (label.server == null) label.server = server.getValue();
+            }
+            SmartFallback.dns = dns;
+        }
+        return dns;
+    }
+
     /**
      * Grabs the Server that a player was last connected to
      *
@@ -100,14 +213,29 @@ public class SmartFallback implements ReconnectHandler {
      * @return Reconnect Server
      */
     public static ServerInfo getReconnectServer(ProxiedPlayer player) {
-        if (reconnect == null) {
-            return null;
-        } else try {
-            return Util.reflect(reconnect.getClass().getDeclaredMethod("getStoredServer", ProxiedPlayer.class), reconnect, player);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            e.printStackTrace();
-            return null;
-        }
+        String name = reconnects.remove(player.getUniqueId());
+        return (!reconnect || name == null)?null:ProxyServer.getInstance().getServerInfo(name);
+    }
+
+    /**
+     * Look up the Server that a player was last connected to<br>
+     * Reconnect Servers are stored by SubServers.Bungee, so this must finish before the player is sent to a server
+     *
+     * @param player Player
+     * @param name Player Name
+     * @param callback Finished Callback (which returns false if the player stopped waiting for this)
+     * @return Whether the callback will run (false if reconnecting is disabled)
+     */
+    public static boolean loadReconnectServer(UUID player, String name, ReturnRunnable<Boolean> callback) {
+        if (Util.isNull(player, name, callback)) throw new NullPointerException();
+        if (!reconnect || SubAPI.getInstance().getSubDataNetwork()[0] == null) return false;
+        ((SubDataClient) SubAPI.getInstance().getSubDataNetwork()[0]).sendPacket(new PacketExReconnectServer(player, name, server -> {
+            if (server != null) reconnects.put(player, server);
+
+            // Late replies are dropped, as nothing would ever come back for them
+            if (!callback.run() && server != null) reconnects.remove(player, server);
+        }));
+        return true;
     }
 
     /**
@@ -127,58 +255,263 @@ public class SmartFallback implements ReconnectHandler {
      * @param player Player that is requesting fallback servers
      * @return Fallback Server Map (with legacy bungee case-sensitive keys)
      */
-    @SuppressWarnings("deprecation")
     public static Map<String, ServerInfo> getFallbackServers(ListenerInfo listener, ProxiedPlayer player) {
-        TreeMap<Double, List<ServerInfo>> score = new TreeMap<Double, List<ServerInfo>>(Collections.reverseOrder());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ArrayList<Candidate> candidates = new ArrayList<Candidate>();
+        for (Candidate candidate : getCandidates(listener)) {
+            if (!(candidate.server instanceof SubServerImpl) || ((SubServerImpl) candidate.server).isRunning()) candidates.add(candidate);
+        }
+
+        Double[][] responses = inspect(inspectors.toArray(new FallbackInspector[0]), player, candidates);
+        ArrayList<Result> results = new ArrayList<Result>();
+        for (int c = 0; c < responses.length; ++c) {
+            ServerInfo server = candidates.get(c).server;
+            boolean valid = true;
+            double confidence = candidates.get(c).confidence;
+            if (player != null && server instanceof ServerImpl) {
+                if (((ServerImpl) server).canAccess(player)) confidence++;
+            }
+
+            for (Double response : responses[c]) {
+                if (response == null) {
+                    valid = false;
+                } else {
+                    confidence += response;
+                }
+            }
+
+            if (valid) results.add(new Result(server, confidence, random.nextInt()));
+        }
+
+        Collections.sort(results);
+        LinkedHashMap<String, ServerInfo> map = new LinkedHashMap<String, ServerInfo>();
+        for (Result result : results) map.put(result.server.getName(), result.server);
+        return map;
+    }
+
+    private static Double[][] inspect(FallbackInspector[] inspectors, ProxiedPlayer player, List<Candidate> candidates) {
+        Double[][] responses = new Double[candidates.size()][inspectors.length];
+        long timeout = SmartFallback.timeout;
+        boolean parallel = SmartFallback.parallel;
+
+        if (inspectors.length == 0) {
+            return responses;
+        } else if (timeout <= 0 && !parallel) {
+            for (int c = 0; c < responses.length; ++c) for (int i = 0; i < inspectors.length; ++i) {
+                responses[c][i] = run(inspectors[i], player, candidates.get(c).server);
+            }
+        } else if (parallel) {
+            Pool pool = pool();
+            Call[][] calls = new Call[responses.length][inspectors.length];
+            for (int c = 0; c < responses.length; ++c) for (int i = 0; i < inspectors.length; ++i) {
+                calls[c][i] = pool.submit(inspectors[i], player, candidates.get(c).server);
+            }
+
+            // Every call runs at the same time, so they all share the same deadline
+            long deadline = System.nanoTime() + timeout;
+            for (int c = 0; c < responses.length; ++c) for (int i = 0; i < inspectors.length; ++i) {
+                responses[c][i] = await(calls[c][i], (timeout <= 0)?0:Math.max(1, deadline - System.nanoTime()));
+            }
+        } else {
+            Pool pool = pool();
+
+            // Calls run one at a time, but they still share a single deadline
+            long deadline = System.nanoTime() + timeout;
+            for (int c = 0; c < responses.length; ++c) for (int i = 0; i < inspectors.length; ++i) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    responses[c][i] = await(pool.submit(inspectors[i], player, candidates.get(c).server), remaining);
+                } else {
+                    stats(inspectors[i]).timeout();
+                    responses[c][i] = 0D;
+                }
+            }
+        }
+        return responses;
+    }
+
+    private static Double run(FallbackInspector inspector, ProxiedPlayer player, ServerInfo server) {
+        InspectorStats stats = stats(inspector);
+        long begin = System.nanoTime();
+        try {
+            return inspector.inspect(player, server);
+        } catch (Throwable e) {
+            stats.error();
+            new InvocationTargetException(e, "Exception while running inspecting fallback server: " + server.getName()).printStackTrace();
+            return 0D;
+        } finally {
+            stats.record(System.nanoTime() - begin);
+        }
+    }
+
+    private static Double await(Call call, long timeout) {
+        if (call.future == null) {
+            // The pool is backed up, so there's no chance of this finishing in time
+            stats(call.inspector).timeout();
+            return 0D;
+        }
+        try {
+            return (timeout <= 0)?call.future.get():call.future.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            call.abandon();
+            stats(call.inspector).timeout();
+            return 0D;
+        } catch (InterruptedException e) {
+            call.abandon();
+            Thread.currentThread().interrupt();
+            return 0D;
+        } catch (ExecutionException | CancellationException e) {
+            return 0D;
+        }
+    }
+
+    private static final class Pool {
+        private final ThreadPoolExecutor executor;
+        private final AtomicInteger stuck = new AtomicInteger(0);
+        private final int size = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        private Pool() {
+            AtomicInteger threads = new AtomicInteger(0);
+            executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(1024), runnable -> {
+                Thread thread = new Thread(runnable, "SubServers.Sync::Fallback_Inspector(" + threads.incrementAndGet() + ')');
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        private Call submit(FallbackInspector inspector, ProxiedPlayer player, ServerInfo server) {
+            Call call = new Call(this, inspector, player, server);
+            try {
+                call.future = executor.submit(call);
+            } catch (RejectedExecutionException e) {
+                call.future = null;
+            }
+            return call;
+        }
+    }
+
+    private static final class Call implements Callable<Double> {
+        private final AtomicInteger state = new AtomicInteger(0); // 0 = queued, 1 = running, 2 = done, 3 = abandoned while running
+        private final Pool pool;
+        private final FallbackInspector inspector;
+        private final ProxiedPlayer player;
+        private final ServerInfo server;
+        private Future<Double> future;
+
+        private Call(Pool pool, FallbackInspector inspector, ProxiedPlayer player, ServerInfo server) {
+            this.pool = pool;
+            this.inspector = inspector;
+            this.player = player;
+            this.server = server;
+        }
+
+        @Override
+        public Double call() {
+            state.set(1);
+            try {
+                return run(inspector, player, server);
+            } finally {
+                if (!state.compareAndSet(1, 2)) pool.stuck.decrementAndGet();
+            }
+        }
+
+        private void abandon() {
+            future.cancel(true);
+
+            // Inspectors that ignore the interrupt keep holding on to their thread
+            if (state.compareAndSet(1, 3)) pool.stuck.incrementAndGet();
+        }
+    }
+
+    private static synchronized Pool pool() {
+        // Once half of the threads are held by inspectors that wouldn't stop, leave them behind and start over with a new pool
+        if (pool == null || pool.stuck.get() * 2 >= pool.size) {
+            if (pool != null) pool.executor.shutdown();
+            pool = new Pool();
+        }
+        return pool;
+    }
+
+    private static synchronized void retire() {
+        if (pool != null) {
+            pool.executor.shutdown();
+            pool = null;
+        }
+    }
+
+    private static InspectorStats stats(FallbackInspector inspector) {
+        return stats.computeIfAbsent(inspector, i -> new InspectorStats());
+    }
+
+    /**
+     * Mark the fallback candidate tables (and DNS forwarding table) as outdated<br>
+     * This should be called whenever a server is added, removed, or changes in a way that affects its confidence score
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private static Candidate[] getCandidates(ListenerInfo listener) {
+        long generation = SmartFallback.generation.get();
+        for (Table table : tables) if (table.listener == listener && table.generation == generation) return table.candidates;
+
+        Candidate[] candidates = build(listener);
+        synchronized (SmartFallback.class) {
+            if (generation == SmartFallback.generation.get()) {
+                ArrayList<Table> tables = new ArrayList<Table>();
+                for (Table table : SmartFallback.tables) if (table.listener != listener && table.generation == generation) tables.add(table);
+                tables.add(new Table(listener, generation, candidates));
+                SmartFallback.tables = tables.toArray(new Table[0]);
+            }
+        }
+        return candidates;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Candidate[] build(ListenerInfo listener) {
+        LinkedHashMap<String, Candidate> candidates = new LinkedHashMap<String, Candidate>();
         for (String name : listener.getServerPriority()) {
             ServerInfo server = SubAPI.getInstance().getInternals().servers.getOrDefault(name.toLowerCase(), null);
             if (server == null) server = ProxyServer.getInstance().getServerInfo(name);
-            if (server != null) {
-                boolean valid = true;
+            if (server != null && !candidates.containsKey(server.getName())) {
                 double confidence = 0;
                 if (server instanceof ServerImpl) {
                     if (!((ServerImpl) server).isHidden()) confidence++;
                     if (!((ServerImpl) server).isRestricted()) confidence++;
                     if (((ServerImpl) server).getSubData()[0] != null) confidence++;
-
-                    if (player != null) {
-                        if (((ServerImpl) server).canAccess(player)) confidence++;
-                    }
-                } if (server instanceof SubServerImpl) {
-                    if (!((SubServerImpl) server).isRunning()) valid = false;
-                }
-
-                List<FallbackInspector> inspectors = new ArrayList<FallbackInspector>();
-                inspectors.addAll(SmartFallback.inspectors);
-                for (FallbackInspector inspector : inspectors) try {
-                    Double response = inspector.inspect(player, server);
-                    if (response == null) {
-                        valid = false;
-                    } else {
-                        confidence += response;
-                    }
-                } catch (Throwable e) {
-                    new InvocationTargetException(e, "Exception while running inspecting fallback server: " + server.getName()).printStackTrace();
-                }
-
-                if (valid) {
-                    List<ServerInfo> servers = (score.keySet().contains(confidence))?score.get(confidence):new LinkedList<ServerInfo>();
-                    servers.add(server);
-                    score.put(confidence, servers);
                 }
+                candidates.put(server.getName(), new Candidate(server, confidence));
             }
         }
+        return candidates.values().toArray(new Candidate[0]);
+    }
 
-        Random random = new Random();
-        LinkedHashMap<String, ServerInfo> map = new LinkedHashMap<String, ServerInfo>();
-        for (List<ServerInfo> servers : score.values()) {
-            while (!servers.isEmpty()) {
-                ServerInfo next = servers.get(random.nextInt(servers.size()));
-                map.put(next.getName(), next);
-                servers.remove(next);
-            }
-        }
-        return map;
+    /**
+     * Get the Network Join Queue
+     *
+     * @return Join Queue (or null if it is disabled)
+     */
+    public static JoinQueue getJoinQueue() {
+        return queue;
+    }
+
+    /**
+     * Get the built-in Load Balancer
+     *
+     * @return Load Balancer (or null if it is disabled)
+     */
+    public static LoadBalancer getLoadBalancer() {
+        return balancer;
+    }
+
+    /**
+     * Get the Server Status Cache
+     *
+     * @return Status Cache (or null if Smart Fallback has not been enabled)
+     */
+    public static StatusCache getStatusCache() {
+        return status;
     }
 
     /**
@@ -199,20 +532,36 @@ public class SmartFallback implements ReconnectHandler {
     public static void removeInspector(FallbackInspector inspector) {
         if (Util.isNull(inspector)) throw new NullPointerException();
         Util.isException(() -> inspectors.remove(inspector));
+        stats.remove(inspector);
+    }
+
+    /**
+     * Get the statistics of every Fallback Server Inspector
+     *
+     * @return Inspector Statistics (in the order the inspectors run)
+     */
+    public static Map<FallbackInspector, InspectorStats> getStatistics() {
+        LinkedHashMap<FallbackInspector, InspectorStats> map = new LinkedHashMap<FallbackInspector, InspectorStats>();
+        for (FallbackInspector inspector : inspectors) map.put(inspector, stats(inspector));
+        return map;
     }
 
     @Override
     public void setServer(ProxiedPlayer player) {
-        if (reconnect != null) reconnect.setServer(player);
+        reconnects.remove(player.getUniqueId());
+        if (reconnect && SubAPI.getInstance().getSubDataNetwork()[0] != null) {
+            ServerInfo server = (player.getReconnectServer() != null)?player.getReconnectServer():((player.getServer() != null)?player.getServer().getInfo():null);
+            ServerInfo limbo = (queue != null)?queue.getLimbo():null;
+            if (server != null && server != limbo) ((SubDataClient) SubAPI.getInstance().getSubDataNetwork()[0]).sendPacket(new PacketExReconnectServer(player.getUniqueId(), server.getName()));
+        }
     }
 
     @Override
-    public void save() {
-        if (reconnect != null) reconnect.save();
-    }
+    public void save() {}
 
     @Override
     public void close() {
-        if (reconnect != null) reconnect.close();
+        retire();
+        reconnects.clear();
     }
 }
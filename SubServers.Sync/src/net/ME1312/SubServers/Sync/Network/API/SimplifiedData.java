@@ -185,6 +185,45 @@ public final class SimplifiedData {
         }));
     }
 
+    /**
+     * Requests the Servers (including SubServers) one page at a time
+     *
+     * @param client SubData connection
+     * @param size Page size
+     * @param callback Server Map (run for every page, in order)
+     * @param end Run after the last page
+     */
+    public static void requestServers(DataClient client, int size, Callback<Map<String, Server>> callback, Runnable end) {
+        if (Util.isNull(callback, end)) throw new NullPointerException();
+        StackTraceElement[] origin = new Exception().getStackTrace();
+        client(client).sendPacket(new PacketDownloadServerInfo(size, data -> {
+            TreeMap<String, Server> servers = new TreeMap<String, Server>();
+            for (String server : data.getKeys()) {
+                if (data.getMap(server).getRawString("type", "Server").equals("SubServer")) {
+                    servers.put(server.toLowerCase(), new SubServer(client, data.getMap(server)));
+                } else {
+                    servers.put(server.toLowerCase(), new Server(client, data.getMap(server)));
+                }
+            }
+
+            try {
+                callback.run(servers);
+            } catch (Throwable e) {
+                Throwable ew = new InvocationTargetException(e);
+                ew.setStackTrace(origin);
+                ew.printStackTrace();
+            }
+        }, () -> {
+            try {
+                end.run();
+            } catch (Throwable e) {
+                Throwable ew = new InvocationTargetException(e);
+                ew.setStackTrace(origin);
+                ew.printStackTrace();
+            }
+        }));
+    }
+
     /**
      * Requests a Server
      *
@@ -346,6 +385,41 @@ public final class SimplifiedData {
         }));
     }
 
+    /**
+     * Requests players on this network across all known proxies, one page at a time
+     *
+     * @param client SubData connection
+     * @param size Page size
+     * @param callback Remote Player Map (run for every page, in order)
+     * @param end Run after the last page
+     */
+    public static void requestGlobalPlayers(DataClient client, int size, Callback<Map<UUID, RemotePlayer>> callback, Runnable end) {
+        if (Util.isNull(callback, end)) throw new NullPointerException();
+        StackTraceElement[] origin = new Exception().getStackTrace();
+        client(client).sendPacket(new PacketDownloadPlayerInfo(size, data -> {
+            TreeMap<UUID, RemotePlayer> players = new TreeMap<UUID, RemotePlayer>();
+            for (String player : data.getKeys()) {
+                players.put(UUID.fromString(player), new RemotePlayer(client, data.getMap(player)));
+            }
+
+            try {
+                callback.run(players);
+            } catch (Throwable e) {
+                Throwable ew = new InvocationTargetException(e);
+                ew.setStackTrace(origin);
+                ew.printStackTrace();
+            }
+        }, () -> {
+            try {
+                end.run();
+            } catch (Throwable e) {
+                Throwable ew = new InvocationTargetException(e);
+                ew.setStackTrace(origin);
+                ew.printStackTrace();
+            }
+        }));
+    }
+
     /**
      * Requests a player on this network by searching across all known proxies
      *
@@ -515,6 +515,39 @@ public class SubServer extends Server {
         });
     }
 
+    /**
+     * Get the most recent lines this Server has logged
+     *
+     * @param lines Amount of lines
+     * @param callback Scrollback Lines (or null if the server no longer exists)
+     */
+    public void getScrollback(int lines, Callback<List<ObjectMap<String>>> callback) {
+        getScrollback((Integer) lines, callback);
+    }
+
+    /**
+     * Get the lines this Server has kept in its scrollback
+     *
+     * @param callback Scrollback Lines (or null if the server no longer exists)
+     */
+    public void getScrollback(Callback<List<ObjectMap<String>>> callback) {
+        getScrollback(null, callback);
+    }
+
+    private void getScrollback(Integer lines, Callback<List<ObjectMap<String>>> callback) {
+        if (Util.isNull(callback)) throw new NullPointerException();
+        StackTraceElement[] origin = new Exception().getStackTrace();
+        client().sendPacket(new PacketDownloadServerLog(getName(), lines, data -> {
+            try {
+                callback.run(data);
+            } catch (Throwable e) {
+                Throwable ew = new InvocationTargetException(e);
+                ew.setStackTrace(origin);
+                ew.printStackTrace();
+            }
+        }));
+    }
+
     /**
      * Get the Server Directory Path
      *
@@ -0,0 +1,73 @@
+package net.ME1312.SubServers.Sync.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Client.SubDataSender;
+import net.ME1312.SubServers.Sync.Library.Fallback.JoinQueue;
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * External Join Queue Packet
+ */
+public class PacketExJoinQueue implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private int action;
+    private UUID player;
+
+    /**
+     * New PacketExJoinQueue (In)
+     */
+    public PacketExJoinQueue() {}
+
+    /**
+     * New PacketExJoinQueue (Out)
+     *
+     * @param action Action (0 to join, 1 to leave, or 4 to go back in line)
+     * @param player Player
+     */
+    public PacketExJoinQueue(int action, UUID player) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        this.action = action;
+        this.player = player;
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataSender client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        data.set(0x0000, action);
+        data.set(0x0001, player);
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void receive(SubDataSender client, ObjectMap<Integer> data) {
+        JoinQueue queue = SmartFallback.getJoinQueue();
+        switch (data.getInt(0x0000)) {
+            case 2: // Release
+                if (queue != null) {
+                    queue.release(data.getUUID(0x0001));
+                } else {
+                    client.sendPacket(new PacketExJoinQueue(1, data.getUUID(0x0001)));
+                }
+                break;
+            case 3: // Positions
+                if (queue != null) {
+                    HashMap<UUID, Integer> positions = new HashMap<UUID, Integer>();
+                    for (Map.Entry<String, ?> position : ((Map<String, ?>) data.getObject(0x0002)).entrySet()) positions.put(UUID.fromString(position.getKey()), ((Number) position.getValue()).intValue());
+                    queue.update(positions);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
@@ -0,0 +1,76 @@
+package net.ME1312.SubServers.Sync.Network.Packet;
+
+import net.ME1312.Galaxi.Library.Callback.Callback;
+import net.ME1312.Galaxi.Library.Map.ObjectMap;
+import net.ME1312.Galaxi.Library.Util;
+import net.ME1312.SubData.Client.Protocol.PacketObjectIn;
+import net.ME1312.SubData.Client.Protocol.PacketObjectOut;
+import net.ME1312.SubData.Client.SubDataSender;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * External Reconnect Server Packet
+ */
+public class PacketExReconnectServer implements PacketObjectIn<Integer>, PacketObjectOut<Integer> {
+    private static HashMap<UUID, Callback<String>[]> callbacks = new HashMap<UUID, Callback<String>[]>();
+    private UUID player;
+    private String name;
+    private String server;
+    private UUID tracker;
+
+    /**
+     * New PacketExReconnectServer (In)
+     */
+    public PacketExReconnectServer() {}
+
+    /**
+     * New PacketExReconnectServer (Out)
+     *
+     * @param player Player to look up
+     * @param name Name of that Player
+     * @param callback Callbacks (the server will be null if there isn't one)
+     */
+    @SafeVarargs
+    public PacketExReconnectServer(UUID player, String name, Callback<String>... callback) {
+        if (Util.isNull(player, name, callback)) throw new NullPointerException();
+        this.player = player;
+        this.name = name;
+        this.tracker = Util.getNew(callbacks.keySet(), UUID::randomUUID);
+        callbacks.put(tracker, callback);
+    }
+
+    /**
+     * New PacketExReconnectServer (Out)
+     *
+     * @param player Player to update
+     * @param server Last Server (or null to forget the player)
+     */
+    public PacketExReconnectServer(UUID player, String server) {
+        if (Util.isNull(player)) throw new NullPointerException();
+        this.player = player;
+        this.server = server;
+    }
+
+    @Override
+    public ObjectMap<Integer> send(SubDataSender client) {
+        ObjectMap<Integer> data = new ObjectMap<Integer>();
+        if (tracker != null) data.set(0x0000, tracker);
+        data.set(0x0001, player);
+        if (server != null) data.set(0x0002, server);
+        if (name != null) data.set(0x0003, name);
+        return data;
+    }
+
+    @Override
+    public void receive(SubDataSender client, ObjectMap<Integer> data) {
+        Callback<String>[] callbacks = PacketExReconnectServer.callbacks.remove(data.getUUID(0x0000));
+        if (callbacks != null) for (Callback<String> callback : callbacks) callback.run((data.contains(0x0001))?data.getRawString(0x0001):null);
+    }
+
+    @Override
+    public int version() {
+        return 0x0001;
+    }
+}
@@ -69,7 +69,8 @@ public class PacketExSyncPlayer implements PacketObjectIn<Integer>, PacketObject
                     ServerImpl server = (object.getOrDefault("server", null) != null)?plugin.servers.getOrDefault(object.get("server").toString().toLowerCase(), null):null;
                     RemotePlayer player = new RemotePlayer(new ObjectMap<>(object));
 
-                    plugin.rPlayerLinkP.put(player.getUniqueId(), proxy);
+                    if (proxy != null) plugin.rPlayerLinkP.put(player.getUniqueId(), proxy);
+                    else plugin.rPlayerLinkP.remove(player.getUniqueId());
                     plugin.rPlayers.put(player.getUniqueId(), player);
                     if (server != null) plugin.rPlayerLinkS.put(player.getUniqueId(), server);
                 }
@@ -2,6 +2,7 @@ package net.ME1312.SubServers.Sync.Network.Packet;
 
 import net.ME1312.SubData.Client.Protocol.PacketIn;
 import net.ME1312.SubData.Client.SubDataSender;
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
 import net.ME1312.SubServers.Sync.SubAPI;
 
 /**
@@ -12,6 +13,7 @@ public class PacketInExReset implements PacketIn {
     @Override
     public void receive(SubDataSender client) {
         SubAPI.getInstance().getInternals().servers.clear();
+        SmartFallback.invalidate();
     }
 
     @Override
@@ -10,6 +10,7 @@ import net.ME1312.SubData.Client.SubDataProtocol;
 import net.ME1312.SubServers.Sync.Event.SubNetworkConnectEvent;
 import net.ME1312.SubServers.Sync.Event.SubNetworkDisconnectEvent;
 import net.ME1312.SubServers.Sync.ExProxy;
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
 import net.ME1312.SubServers.Sync.Network.API.RemotePlayer;
 import net.ME1312.SubServers.Sync.Network.API.Server;
 import net.ME1312.SubServers.Sync.Network.Packet.*;
@@ -53,6 +54,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, PacketDownloadPlayerInfo.class);
         registerPacket(0x0017, PacketCheckPermission.class);
         registerPacket(0x0018, PacketCheckPermissionResponse.class);
+        registerPacket(0x0019, PacketDownloadServerLog.class);
 
         registerPacket(0x0010, new PacketDownloadLang(plugin));
         registerPacket(0x0011, new PacketDownloadPlatformInfo());
@@ -63,6 +65,7 @@ public class SubProtocol extends SubDataProtocol {
         registerPacket(0x0016, new PacketDownloadPlayerInfo());
         registerPacket(0x0017, new PacketCheckPermission());
         registerPacket(0x0018, new PacketCheckPermissionResponse());
+        registerPacket(0x0019, new PacketDownloadServerLog());
 
 
         // 30-4F: Control Packets
@@ -97,12 +100,16 @@ public class SubProtocol extends SubDataProtocol {
       //registerPacket(0x0073, PacketInExReload.class);
         registerPacket(0x0074, PacketExSyncPlayer.class);
         registerPacket(0x0076, PacketExDisconnectPlayer.class);
+        registerPacket(0x0077, PacketExJoinQueue.class);
+        registerPacket(0x0078, PacketExReconnectServer.class);
 
         registerPacket(0x0070, new PacketInExRunEvent(plugin));
         registerPacket(0x0071, new PacketInExReset());
         registerPacket(0x0073, new PacketInExUpdateWhitelist(plugin));
         registerPacket(0x0074, new PacketExSyncPlayer(plugin));
         registerPacket(0x0076, new PacketExDisconnectPlayer(plugin));
+        registerPacket(0x0077, new PacketExJoinQueue());
+        registerPacket(0x0078, new PacketExReconnectServer());
     }
 
     public static SubProtocol get() {
@@ -146,6 +153,7 @@ public class SubProtocol extends SubDataProtocol {
             if (plugin.lastReload != platform.getMap("subservers").getLong("last-reload")) {
                 net.ME1312.SubServers.Sync.Library.Compatibility.Logger.get("SubServers").info("Resetting Server Data");
                 plugin.servers.clear();
+                SmartFallback.invalidate();
                 plugin.lastReload = platform.getMap("subservers").getLong("last-reload");
             }
             try {
@@ -174,6 +182,7 @@ public class SubProtocol extends SubDataProtocol {
                 }
             }
             subdata.sendPacket(new PacketExSyncPlayer(null, localPlayers.toArray(new RemotePlayer[0])));
+            if (SmartFallback.getJoinQueue() != null) SmartFallback.getJoinQueue().resync();
 
             plugin.api.getServers(servers -> {
                 for (Server server : servers.values()) {
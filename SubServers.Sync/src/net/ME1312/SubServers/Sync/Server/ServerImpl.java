@@ -6,6 +6,7 @@ import net.ME1312.SubData.Client.Library.ForwardedDataSender;
 import net.ME1312.SubData.Client.SubDataClient;
 import net.ME1312.SubData.Client.SubDataSender;
 import net.ME1312.SubServers.Sync.ExProxy;
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
 import net.ME1312.SubServers.Sync.Network.API.RemotePlayer;
 import net.ME1312.SubServers.Sync.SubAPI;
 import net.md_5.bungee.BungeeServerInfo;
@@ -91,6 +92,7 @@ public class ServerImpl extends BungeeServerInfo {
         } else {
             subdata.remove(channel);
         }
+        SmartFallback.invalidate();
     }
 
     /**
@@ -147,6 +149,7 @@ public class ServerImpl extends BungeeServerInfo {
     public void setHidden(boolean value) {
         if (Util.isNull(value)) throw new NullPointerException();
         this.hidden = value;
+        SmartFallback.invalidate();
     }
 
     /**
@@ -175,6 +178,7 @@ public class ServerImpl extends BungeeServerInfo {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        SmartFallback.invalidate();
     }
 
     /**
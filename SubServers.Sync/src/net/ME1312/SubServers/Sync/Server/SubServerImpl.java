@@ -1,5 +1,7 @@
 package net.ME1312.SubServers.Sync.Server;
 
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
+
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Collection;
@@ -51,6 +53,7 @@ public class SubServerImpl extends ServerImpl {
      * @param running Running Status
      */
     public void setRunning(boolean running) {
+        if (this.running != running) SmartFallback.invalidate();
         this.running = running;
     }
 }
@@ -15,6 +15,10 @@ import net.ME1312.Galaxi.Library.Container.NamedContainer;
 import net.ME1312.Galaxi.Library.Util;
 import net.ME1312.Galaxi.Library.Version.Version;
 import net.ME1312.SubServers.Sync.Library.Compatibility.Galaxi.GalaxiInfo;
+import net.ME1312.SubServers.Sync.Library.Fallback.FallbackInspector;
+import net.ME1312.SubServers.Sync.Library.Fallback.FallbackLimbo;
+import net.ME1312.SubServers.Sync.Library.Fallback.InspectorStats;
+import net.ME1312.SubServers.Sync.Library.Fallback.SmartFallback;
 import net.ME1312.SubServers.Sync.Network.API.*;
 import net.ME1312.SubServers.Sync.Network.Packet.*;
 import net.ME1312.SubServers.Sync.Server.ServerImpl;
@@ -446,13 +450,10 @@ public final class SubCommand extends CommandX {
                                                     PacketInExRunEvent.callback("SubStoppedEvent", this);
                                                     String name = json.getString("server").toLowerCase();
                                                     if (listening.keySet().contains(name)) {
-                                                        new Timer("SubServers.Sync::Server_Restart_Command_Handler(" + name + ")").schedule(new TimerTask() {
-                                                            @Override
-                                                            public void run() {
-                                                                starter.run(listening.get(name));
-                                                                listening.remove(name);
-                                                            }
-                                                        }, 100);
+                                                        plugin.timer.schedule(() -> {
+                                                            starter.run(listening.get(name));
+                                                            listening.remove(name);
+                                                        }, 100, TimeUnit.MILLISECONDS);
                                                     }
                                                 }
                                             } catch (Exception e) {}
@@ -737,6 +738,23 @@ public final class SubCommand extends CommandX {
                         } else {
                             sender.sendMessage("Usage: " + label + " " + args[0].toLowerCase() + " <Subservers>");
                         }
+                    } else if (args[0].equalsIgnoreCase("fallback")) {
+                        FallbackLimbo limbo = plugin.fallbackLimbo;
+                        sender.sendMessage("SubServers > Fallback Statistics:");
+                        sender.sendMessage("  In Limbo: " + limbo.size() + ", Attempts: " + limbo.getAttempts() + ", Successes: " + limbo.getSuccesses() + ", Disconnects: " + limbo.getDisconnects());
+
+                        Map<FallbackInspector, InspectorStats> stats = SmartFallback.getStatistics();
+                        if (stats.isEmpty()) {
+                            sender.sendMessage("SubServers > There are no fallback inspectors registered");
+                        } else {
+                            sender.sendMessage("SubServers > Fallback Inspector Statistics:");
+                            for (Map.Entry<FallbackInspector, InspectorStats> inspector : stats.entrySet()) {
+                                InspectorStats stat = inspector.getValue();
+                                sender.sendMessage("  " + inspector.getKey().getClass().getName() + ':');
+                                sender.sendMessage("    Calls: " + stat.getCalls() + ", Errors: " + stat.getErrors() + ", Timeouts: " + stat.getTimeouts());
+                                sender.sendMessage("    Average: " + printLatency(stat.getAverage()) + ", 50%: <=" + printLatency(stat.getPercentile(0.5)) + ", 99%: <=" + printLatency(stat.getPercentile(0.99)));
+                            }
+                        }
                     } else if (args[0].equalsIgnoreCase("restore")) {
                         // TODO
                     } else {
@@ -929,6 +947,16 @@ public final class SubCommand extends CommandX {
         }
     }
 
+    private static String printLatency(long nanos) {
+        if (nanos < 0) {
+            return "n/a";
+        } else if (nanos == Long.MAX_VALUE) {
+            return "1000+ms";
+        } else {
+            return (Math.round(nanos / 1000D) / 1000D) + "ms";
+        }
+    }
+
     private String[] printHelp() {
         return new String[]{
                 "SubServers > Console Command Help:",
@@ -944,6 +972,7 @@ public final class SubCommand extends CommandX {
                 "   Create Server: /sub create <Name> <Host> <Template> [Version] [Port]",
                 "   Update Server: /sub update <Subservers> [[Template] <Version>]",
                 "   Remove Server: /sub delete <Subservers>",
+                "   Fallback Statistics: /sub fallback",
                 "",
                 "   To see BungeeCord Supplied Commands, please visit:",
                 "   https://www.spigotmc.org/wiki/bungeecord-commands/"
@@ -990,7 +1019,7 @@ public final class SubCommand extends CommandX {
         } else if (args.length <= 1) {
             List<String> cmds = new ArrayList<>();
             cmds.addAll(Arrays.asList("help", "list", "info", "status", "version", "start", "restart", "stop", "kill", "terminate", "cmd", "command", "create", "update", "upgrade"));
-            if (!(sender instanceof ProxiedPlayer)) cmds.addAll(Arrays.asList("reload", "sudo", "screen", "remove", "delete", "restore"));
+            if (!(sender instanceof ProxiedPlayer)) cmds.addAll(Arrays.asList("reload", "sudo", "screen", "remove", "delete", "restore", "fallback"));
 
             updateCache();
 